@@ -0,0 +1,45 @@
+package com.cloudorchestrator.config;
+
+import com.cloudorchestrator.service.BlobStore;
+import com.cloudorchestrator.service.FileSystemBlobStore;
+import com.cloudorchestrator.service.S3BlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class BlobStoreConfig {
+
+    // Lambda tasks then get references to the objects instead of the content
+    @Bean
+    @ConditionalOnProperty(name = "orchestrator.blob-store.type", havingValue = "s3")
+    public BlobStore s3BlobStore(@Value("${aws.accessKeyId}") String accessKey,
+                                 @Value("${aws.secretAccessKey}") String secretKey,
+                                 @Value("${aws.region}") String region,
+                                 @Value("${orchestrator.blob-store.s3.bucket}") String bucket,
+                                 @Value("${orchestrator.blob-store.s3.prefix:orchestrator-blobs/}") String prefix) {
+        S3Client s3 = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .build();
+        return new S3BlobStore(s3, bucket, prefix);
+    }
+
+    // Used unless the application defines its own BlobStore bean
+    @Bean
+    @ConditionalOnMissingBean(BlobStore.class)
+    public BlobStore fileSystemBlobStore(
+            @Value("${orchestrator.blob-store.path:${java.io.tmpdir}/orchestrator-blobs}") String path,
+            @Value("${orchestrator.blob-store.retention-hours:168}") long retentionHours) {
+        return new FileSystemBlobStore(Path.of(path), Duration.ofHours(retentionHours));
+    }
+}
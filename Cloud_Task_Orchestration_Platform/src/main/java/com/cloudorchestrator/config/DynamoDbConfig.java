@@ -9,7 +9,13 @@ import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
-import software.amazon.awssdk.services.lambda.LambdaClient; // Import this
+import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClientBuilder;
+
+import java.net.URI;
+import java.time.Duration;
 
 @Configuration
 public class DynamoDbConfig {
@@ -23,13 +29,29 @@ public class DynamoDbConfig {
     @Value("${aws.region}")
     private String region;
 
+    // Optional: point DynamoDB at DynamoDB Local instead of AWS
+    @Value("${aws.dynamodb.endpoint:}")
+    private String dynamoDbEndpoint;
+
+    // Optional: point Lambda calls at a local stub instead of AWS
+    @Value("${aws.lambda.endpoint:}")
+    private String lambdaEndpoint;
+
+    // Size of the shared connection pool for Lambda invocations
+    @Value("${aws.lambda.max-connections:500}")
+    private int lambdaMaxConnections;
+
     @Bean
     public DynamoDbClient dynamoDbClient() {
-        return DynamoDbClient.builder()
+        DynamoDbClientBuilder builder = DynamoDbClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create(accessKey, secretKey)))
-                .build();
+                        AwsBasicCredentials.create(accessKey, secretKey)));
+
+        if (!dynamoDbEndpoint.isBlank()) {
+            builder.endpointOverride(URI.create(dynamoDbEndpoint));
+        }
+        return builder.build();
     }
 
     @Bean
@@ -39,13 +61,23 @@ public class DynamoDbConfig {
                 .build();
     }
 
-    // 👇 ADD THIS NEW BEAN 👇
-    @Bean
-    public LambdaClient lambdaClient() {
-        return LambdaClient.builder()
-                .region(Region.of(region)) // Uses the same region from properties
+    // Non-blocking Lambda client: a handful of Netty event-loop threads serve every in-flight invocation
+    @Bean(destroyMethod = "close")
+    public LambdaAsyncClient lambdaAsyncClient() {
+        LambdaAsyncClientBuilder builder = LambdaAsyncClient.builder()
+                .region(Region.of(region))
                 .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create(accessKey, secretKey))) // Uses the same keys
-                .build();
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(lambdaMaxConnections)
+                        .maxPendingConnectionAcquires(10_000)
+                        .connectionAcquisitionTimeout(Duration.ofSeconds(60))
+                        // Lambda may legitimately take up to 15 minutes to answer
+                        .readTimeout(Duration.ofMinutes(15)));
+
+        if (!lambdaEndpoint.isBlank()) {
+            builder.endpointOverride(URI.create(lambdaEndpoint));
+        }
+        return builder.build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.cloudorchestrator.controller;
+
+import com.cloudorchestrator.service.BadRequestException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+// Invalid input (e.g. a tampered pagination cursor) -> 400 with the same {"message": ...} body the frontend reads.
+// Only BadRequestException: any other IllegalArgumentException is a server-side fault and stays a 500
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Map<String, String>> badRequest(BadRequestException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.cloudorchestrator.controller;
+
+import com.cloudorchestrator.service.BadRequestException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Body of the batch endpoints: one result per submitted item, in request order.
+ *
+ * @param succeeded items created or queued
+ * @param failed    every other item; see its status and message
+ */
+public record BatchResponse(int succeeded, int failed, List<Item> results) {
+
+    public static final String CREATED = "CREATED";
+    public static final String QUEUED = "QUEUED";
+    public static final String INVALID = "INVALID";     // rejected before writing, resending it will not help
+    public static final String FAILED = "FAILED";       // not written (throttled, or its chunk failed); see the message
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String REJECTED = "REJECTED";   // job queue full, resend after Retry-After
+
+    /**
+     * @param index position of the item in the request
+     * @param id    task or workflow id (assigned when the request had none)
+     * @param jobId job of a queued run
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(int index, String id, String jobId, String status, String message) {
+
+        static Item of(int index, String id, String status, String message) {
+            return new Item(index, id, null, status, message);
+        }
+    }
+
+    static BatchResponse of(List<Item> results) {
+        int succeeded = (int) results.stream()
+                .filter(item -> CREATED.equals(item.status()) || QUEUED.equals(item.status()))
+                .count();
+        return new BatchResponse(succeeded, results.size() - succeeded, results);
+    }
+
+    // The whole request is refused (400) when it is empty or too large to answer in one response
+    static void checkSize(List<?> items, int maxItems) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Batch is empty");
+        }
+        if (items.size() > maxItems) {
+            throw new BadRequestException("Batch has " + items.size() + " items, the limit is " + maxItems);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.cloudorchestrator.controller;
+
+import com.cloudorchestrator.repository.NearCache;
+import com.cloudorchestrator.repository.TaskRepository;
+import com.cloudorchestrator.repository.TaskResultCacheRepository;
+import com.cloudorchestrator.repository.WorkflowRepository;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Hit / miss / eviction counters of the near caches, to size orchestrator.cache.max-size
+// and orchestrator.result-cache.max-size
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final WorkflowRepository workflowRepository;
+    private final TaskRepository taskRepository;
+    private final TaskResultCacheRepository resultCacheRepository;
+
+    public CacheController(WorkflowRepository workflowRepository, TaskRepository taskRepository,
+                           TaskResultCacheRepository resultCacheRepository) {
+        this.workflowRepository = workflowRepository;
+        this.taskRepository = taskRepository;
+        this.resultCacheRepository = resultCacheRepository;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<NearCache.Stats>> getStats() {
+        return ResponseEntity.ok(List.of(workflowRepository.getCacheStats(), taskRepository.getCacheStats(),
+                resultCacheRepository.getCacheStats()));
+    }
+}
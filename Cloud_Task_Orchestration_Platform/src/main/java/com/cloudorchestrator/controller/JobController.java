@@ -0,0 +1,157 @@
+package com.cloudorchestrator.controller;
+
+import com.cloudorchestrator.model.ExecutionLog;
+import com.cloudorchestrator.model.JobHistory;
+import com.cloudorchestrator.repository.ExecutionLogRepository;
+import com.cloudorchestrator.repository.JobHistoryRepository;
+import com.cloudorchestrator.repository.Page;
+import com.cloudorchestrator.service.JobEvent;
+import com.cloudorchestrator.service.JobEventBus;
+import com.cloudorchestrator.service.JobQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private final JobQueue jobQueue;
+    private final JobHistoryRepository repository;
+    private final ExecutionLogRepository executionLogRepository;
+    private final JobEventBus eventBus;
+    private final long retryAfterSeconds;
+    private final long sseTimeoutMs;
+
+    public JobController(JobQueue jobQueue, JobHistoryRepository repository,
+                         ExecutionLogRepository executionLogRepository, JobEventBus eventBus,
+                         @Value("${orchestrator.queue.retry-after-seconds:5}") long retryAfterSeconds,
+                         @Value("${orchestrator.events.sse-timeout-ms:1800000}") long sseTimeoutMs) {
+        this.jobQueue = jobQueue;
+        this.repository = repository;
+        this.executionLogRepository = executionLogRepository;
+        this.eventBus = eventBus;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.sseTimeoutMs = sseTimeoutMs;
+    }
+
+    // Jobs in one status (StatusIndex), most recent first; "from"/"to" (ISO-8601 instants) bound the start time,
+    // e.g. ?status=FAILED&from=2026-10-18T00:00:00Z
+    @GetMapping
+    public ResponseEntity<Page<JobHistory>> getJobsByStatus(@RequestParam String status,
+                                                            @RequestParam(required = false) Instant from,
+                                                            @RequestParam(required = false) Instant to,
+                                                            @RequestParam(defaultValue = "50") int limit,
+                                                            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(repository.findByStatus(status.toUpperCase(Locale.ROOT), from, to,
+                Paging.clampLimit(limit), cursor));
+    }
+
+    // Status of one job: in-memory while queued/running, DynamoDB afterwards
+    @GetMapping("/{jobId}")
+    public ResponseEntity<JobHistory> getJob(@PathVariable String jobId) {
+        JobHistory job = jobQueue.getActiveJob(jobId);
+        if (job == null) {
+            job = repository.findById(jobId);
+        }
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    // Live progress of every job as Server-Sent Events (JOB_STARTED, TASK_STARTED, TASK_FINISHED, JOB_FINISHED).
+    // A reconnecting client sends Last-Event-ID and first gets the events it missed.
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAllJobEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return stream(null, lastEventId);
+    }
+
+    // Live progress of one job; the stream ends after JOB_FINISHED. A finished job gets one "JOB_SNAPSHOT" event.
+    @GetMapping(path = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJobEvents(@PathVariable String jobId,
+                                                      @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId)
+            throws IOException {
+        if (jobQueue.getActiveJob(jobId) == null) {
+            JobHistory job = repository.findById(jobId);
+            if (job == null) {
+                return ResponseEntity.notFound().build();
+            }
+            if ("COMPLETED".equals(job.getStatus()) || "FAILED".equals(job.getStatus())) {
+                SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+                emitter.send(SseEmitter.event().name("JOB_SNAPSHOT").data(job));
+                emitter.complete();
+                return ResponseEntity.ok(emitter);
+            }
+        }
+        return ResponseEntity.ok(stream(jobId, lastEventId));
+    }
+
+    private SseEmitter stream(String jobId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        JobEventBus.Subscription subscription = eventBus.subscribe(jobId, lastEventId, new JobEventBus.Sink() {
+            @Override
+            public boolean send(JobEvent event) throws IOException {
+                emitter.send(SseEmitter.event().id(String.valueOf(event.id())).name(event.type()).data(event));
+                return jobId == null || !JobEvent.JOB_FINISHED.equals(event.type());
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    // Per-task results of one job, paginated
+    @GetMapping("/{jobId}/logs")
+    public ResponseEntity<Page<ExecutionLog>> getJobLogs(@PathVariable String jobId,
+                                                         @RequestParam(defaultValue = "50") int limit,
+                                                         @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(executionLogRepository.findByJobId(jobId, Paging.clampLimit(limit), cursor));
+    }
+
+    // Re-queues a failed job; tasks that already succeeded keep their results and are not run again
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<Map<String, String>> resumeJob(@PathVariable String jobId) {
+        if (jobQueue.getActiveJob(jobId) != null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Job is still queued or running"));
+        }
+        JobHistory job = repository.findById(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!"FAILED".equals(job.getStatus())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "Only failed jobs can be resumed (status is " + job.getStatus() + ")"));
+        }
+
+        try {
+            jobQueue.resume(job);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                    "jobId", job.getJobId(),
+                    "status", job.getStatus(),
+                    "message", "Job resume queued. Track it at /api/jobs/" + job.getJobId()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(Map.of("message", "Job queue is full, retry later"));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.cloudorchestrator.controller;
+
+import com.cloudorchestrator.repository.Page;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writes list responses item by item straight to the servlet output stream, so a request never
+ * materializes the whole table (or page) as one JSON string.
+ */
+final class JsonStreams {
+
+    private JsonStreams() {
+    }
+
+    // Plain JSON array: the historical shape of GET /api/workflows and /api/tasks
+    static <T> ResponseEntity<StreamingResponseBody> array(ObjectMapper objectMapper, Iterator<T> items,
+                                                           Collection<String> fields) {
+        ObjectWriter writer = writerFor(objectMapper, fields);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                while (items.hasNext()) {
+                    writer.writeValue(json, items.next());
+                }
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // {"items": [...], "nextCursor": "..."} like the other paginated endpoints
+    static <T> ResponseEntity<StreamingResponseBody> page(ObjectMapper objectMapper, Page<T> page,
+                                                          Collection<String> fields) {
+        ObjectWriter writer = writerFor(objectMapper, fields);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeArrayFieldStart("items");
+                for (T item : page.items()) {
+                    writer.writeValue(json, item);
+                }
+                json.writeEndArray();
+                json.writeStringField("nextCursor", page.nextCursor());
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) return List.of();
+        return List.of(fields.split("\\s*,\\s*"));
+    }
+
+    // Projected items would otherwise be full of nulls for the attributes that were not read
+    private static ObjectWriter writerFor(ObjectMapper objectMapper, Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) return objectMapper.writer();
+        return objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL).writer();
+    }
+}
@@ -0,0 +1,14 @@
+package com.cloudorchestrator.controller;
+
+// Shared bits of the paginated endpoints
+final class Paging {
+
+    static final int MAX_LIMIT = 500;
+
+    private Paging() {
+    }
+
+    static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
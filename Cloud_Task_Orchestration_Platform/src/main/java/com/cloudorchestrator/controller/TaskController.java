@@ -1,38 +1,124 @@
 package com.cloudorchestrator.controller;
 
 
+import com.cloudorchestrator.model.ExecutionLog;
 import com.cloudorchestrator.model.Task;
+import com.cloudorchestrator.repository.ExecutionLogRepository;
+import com.cloudorchestrator.repository.Page;
 import com.cloudorchestrator.repository.TaskRepository;
+import com.cloudorchestrator.service.TaskExecutorRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
     private final TaskRepository repository;
+    private final ExecutionLogRepository executionLogRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutorRegistry executors;
+    private final int maxBatchItems;
 
-    public TaskController(TaskRepository repository) {
+    public TaskController(TaskRepository repository, ExecutionLogRepository executionLogRepository,
+                          ObjectMapper objectMapper, TaskExecutorRegistry executors,
+                          @Value("${orchestrator.batch.max-items:10000}") int maxBatchItems) {
         this.repository = repository;
+        this.executionLogRepository = executionLogRepository;
+        this.objectMapper = objectMapper;
+        this.executors = executors;
+        this.maxBatchItems = maxBatchItems;
     }
 
     @PostMapping
     public ResponseEntity<Task> createTask(@RequestBody Task task) {
+        executors.validate(task); // unknown type or handler -> 400
         task.setCreatedAt(Instant.now());
         task.setUpdatedAt(Instant.now());
         return ResponseEntity.ok(repository.save(task));
     }
 
+    // Bulk import: every valid task is written with BatchWriteItem (25 per call) instead of one putItem each.
+    // Invalid tasks and repeated ids are reported per item and do not stop the rest of the batch.
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> createTasks(@RequestBody List<Task> tasks) {
+        BatchResponse.checkSize(tasks, maxBatchItems);
+        BatchResponse.Item[] results = new BatchResponse.Item[tasks.size()];
+        List<Task> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+
+        Instant now = Instant.now();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            String error = validationError(task, ids);
+            if (error != null) {
+                results[i] = BatchResponse.Item.of(i, task != null ? task.getTaskId() : null, BatchResponse.INVALID, error);
+                continue;
+            }
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            valid.add(task);
+            validIndexes.add(i);
+        }
+
+        Map<String, String> failed = valid.isEmpty() ? Map.of() : repository.saveAll(valid);
+        for (int v = 0; v < valid.size(); v++) {
+            String id = valid.get(v).getTaskId();
+            String error = failed.get(id);
+            results[validIndexes.get(v)] = error != null
+                    ? BatchResponse.Item.of(validIndexes.get(v), id, BatchResponse.FAILED, error)
+                    : BatchResponse.Item.of(validIndexes.get(v), id, BatchResponse.CREATED, null);
+        }
+        return ResponseEntity.ok(BatchResponse.of(List.of(results)));
+    }
+
+    // Same checks as a single create, plus: one id may appear only once per batch
+    private String validationError(Task task, Set<String> ids) {
+        if (task == null) return "Task is null";
+        try {
+            executors.validate(task);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        if (task.getTaskId() != null && !task.getTaskId().isEmpty() && !ids.add(task.getTaskId())) {
+            return "Duplicate taskId in batch: " + task.getTaskId();
+        }
+        return null;
+    }
+
+    // Same contract as GET /api/workflows: streamed array, or a page with "limit"/"cursor"; optional "fields"
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        return ResponseEntity.ok(repository.findAll());
+    public ResponseEntity<StreamingResponseBody> getAllTasks(@RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) String fields) {
+        List<String> projection = JsonStreams.parseFields(fields);
+        if (limit == null) {
+            return JsonStreams.array(objectMapper, repository.scanAll(projection), projection);
+        }
+        return JsonStreams.page(objectMapper, repository.findPage(Paging.clampLimit(limit), cursor, projection), projection);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTask(@PathVariable String id) {
         return ResponseEntity.ok(repository.findById(id));
     }
-}
\ No newline at end of file
+
+    // Results of this task across jobs (TaskIndex), most recent first
+    @GetMapping("/{id}/history")
+    public ResponseEntity<Page<ExecutionLog>> getTaskHistory(@PathVariable String id,
+                                                             @RequestParam(defaultValue = "50") int limit,
+                                                             @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(executionLogRepository.findByTaskId(id, Paging.clampLimit(limit), cursor));
+    }
+}
@@ -1,40 +1,131 @@
 package com.cloudorchestrator.controller;
 
+import com.cloudorchestrator.model.JobHistory;
 import com.cloudorchestrator.model.Workflow;
+import com.cloudorchestrator.repository.JobHistoryRepository;
+import com.cloudorchestrator.repository.Page;
 import com.cloudorchestrator.repository.WorkflowRepository;
-import com.cloudorchestrator.service.WorkflowOrchestrator;
+import com.cloudorchestrator.service.BadRequestException;
+import com.cloudorchestrator.service.JobQueue;
+import com.cloudorchestrator.service.WorkflowDag;
+import com.cloudorchestrator.service.WorkflowScheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/workflows")
 public class WorkflowController {
 
     private final WorkflowRepository repository;
-    private final WorkflowOrchestrator orchestrator; // Inject the Engine
+    private final JobHistoryRepository jobHistoryRepository;
+    private final JobQueue jobQueue; // Runs go through the queue, never on the request thread
+    private final WorkflowScheduler scheduler; // Kept in sync with every create/delete
+    private final ObjectMapper objectMapper;
+    private final long retryAfterSeconds;
+    private final int maxBatchItems;
 
-    // Constructor Injection for both Repository and Orchestrator
-    public WorkflowController(WorkflowRepository repository, WorkflowOrchestrator orchestrator) {
+    // Constructor Injection for Repository, Job Queue and Scheduler
+    public WorkflowController(WorkflowRepository repository, JobHistoryRepository jobHistoryRepository,
+                              JobQueue jobQueue, WorkflowScheduler scheduler, ObjectMapper objectMapper,
+                              @Value("${orchestrator.queue.retry-after-seconds:5}") long retryAfterSeconds,
+                              @Value("${orchestrator.batch.max-items:10000}") int maxBatchItems) {
         this.repository = repository;
-        this.orchestrator = orchestrator;
+        this.jobHistoryRepository = jobHistoryRepository;
+        this.jobQueue = jobQueue;
+        this.scheduler = scheduler;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.maxBatchItems = maxBatchItems;
     }
 
     // 1. Create Workflow
     @PostMapping
-    public ResponseEntity<Workflow> createWorkflow(@RequestBody Workflow workflow) {
+    public ResponseEntity<?> createWorkflow(@RequestBody Workflow workflow) {
+        String error = validationError(workflow);
+        if (error != null) {
+            return ResponseEntity.badRequest().body(Map.of("message", error));
+        }
+
         workflow.setCreatedAt(Instant.now());
         workflow.setUpdatedAt(Instant.now());
         Workflow saved = repository.save(workflow);
+        scheduler.workflowSaved(saved);
         return ResponseEntity.ok(saved);
     }
 
+    // 1b. Bulk create: valid workflows are written with BatchWriteItem (25 per call) and registered with the
+    // scheduler; invalid ones and repeated ids are reported per item without stopping the rest of the batch
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> createWorkflows(@RequestBody List<Workflow> workflows) {
+        BatchResponse.checkSize(workflows, maxBatchItems);
+        BatchResponse.Item[] results = new BatchResponse.Item[workflows.size()];
+        List<Workflow> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+
+        Instant now = Instant.now();
+        for (int i = 0; i < workflows.size(); i++) {
+            Workflow workflow = workflows.get(i);
+            String error = workflow == null ? "Workflow is null" : validationError(workflow);
+            if (error == null && workflow.getWorkflowId() != null && !workflow.getWorkflowId().isEmpty()
+                    && !ids.add(workflow.getWorkflowId())) {
+                error = "Duplicate workflowId in batch: " + workflow.getWorkflowId();
+            }
+            if (error != null) {
+                results[i] = BatchResponse.Item.of(i, workflow != null ? workflow.getWorkflowId() : null,
+                        BatchResponse.INVALID, error);
+                continue;
+            }
+            workflow.setCreatedAt(now);
+            workflow.setUpdatedAt(now);
+            valid.add(workflow);
+            validIndexes.add(i);
+        }
+
+        Map<String, String> failed = valid.isEmpty() ? Map.of() : repository.saveAll(valid);
+        for (int v = 0; v < valid.size(); v++) {
+            Workflow workflow = valid.get(v);
+            String error = failed.get(workflow.getWorkflowId());
+            if (error != null) {
+                results[validIndexes.get(v)] = BatchResponse.Item.of(validIndexes.get(v), workflow.getWorkflowId(),
+                        BatchResponse.FAILED, error);
+            } else {
+                scheduler.workflowSaved(workflow);
+                results[validIndexes.get(v)] = BatchResponse.Item.of(validIndexes.get(v), workflow.getWorkflowId(),
+                        BatchResponse.CREATED, null);
+            }
+        }
+        return ResponseEntity.ok(BatchResponse.of(List.of(results)));
+    }
+
     // 2. Get All
+    // Without "limit": the whole table as a JSON array, streamed page by page.
+    // With "limit": {"items": [...], "nextCursor": "..."}; pass nextCursor back as "cursor" for the next page.
+    // "fields" (e.g. name,status) projects the scan to those attributes.
     @GetMapping
-    public ResponseEntity<List<Workflow>> getAllWorkflows() {
-        return ResponseEntity.ok(repository.findAll());
+    public ResponseEntity<StreamingResponseBody> getAllWorkflows(@RequestParam(required = false) Integer limit,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) String fields) {
+        List<String> projection = JsonStreams.parseFields(fields);
+        if (limit == null) {
+            return JsonStreams.array(objectMapper, repository.scanAll(projection), projection);
+        }
+        return JsonStreams.page(objectMapper, repository.findPage(Paging.clampLimit(limit), cursor, projection), projection);
     }
 
     // 3. Get One
@@ -51,15 +142,85 @@ public class WorkflowController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteWorkflow(@PathVariable String id) {
         repository.delete(id);
+        scheduler.workflowDeleted(id);
         return ResponseEntity.noContent().build();
     }
 
+    // 3b. Runs of this workflow (WorkflowIndex), most recent first, paginated like the other lists
+    @GetMapping("/{id}/jobs")
+    public ResponseEntity<Page<JobHistory>> getWorkflowJobs(@PathVariable String id,
+                                                            @RequestParam(defaultValue = "20") int limit,
+                                                            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(jobHistoryRepository.findByWorkflowId(id, Paging.clampLimit(limit), cursor));
+    }
+
+    // 5b. Bulk execute: one run per entry of the array of workflow ids (an id may repeat).
+    // 202 if at least one run was queued; 429 with Retry-After if the queue refused all of them.
+    @PostMapping("/execute/batch")
+    public ResponseEntity<BatchResponse> executeWorkflows(@RequestBody List<String> workflowIds) {
+        BatchResponse.checkSize(workflowIds, maxBatchItems);
+        List<BatchResponse.Item> results = new ArrayList<>(workflowIds.size());
+        Map<String, Workflow> found = new HashMap<>();
+        boolean rejected = false;
+
+        for (int i = 0; i < workflowIds.size(); i++) {
+            String id = workflowIds.get(i);
+            Workflow workflow = id == null ? null : found.computeIfAbsent(id, repository::findById);
+            if (workflow == null) {
+                results.add(BatchResponse.Item.of(i, id, BatchResponse.NOT_FOUND, "Workflow not found"));
+                continue;
+            }
+            try {
+                JobHistory job = jobQueue.submit(id, workflow.getOwnerId(), JobQueue.Priority.INTERACTIVE);
+                results.add(new BatchResponse.Item(i, id, job.getJobId(), BatchResponse.QUEUED, null));
+            } catch (RejectedExecutionException e) {
+                rejected = true;
+                results.add(BatchResponse.Item.of(i, id, BatchResponse.REJECTED, "Job queue is full, retry later"));
+            }
+        }
+
+        BatchResponse body = BatchResponse.of(results);
+        HttpStatus status = body.succeeded() > 0 ? HttpStatus.ACCEPTED
+                : rejected ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.OK;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (rejected) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        return response.body(body);
+    }
+
     // ⭐ 5. EXECUTE WORKFLOW  ⭐
     @PostMapping("/{id}/execute")
-    public ResponseEntity<String> executeWorkflow(@PathVariable String id) {
-        // Run the logic
-        orchestrator.runWorkflow(id);
-        
-        return ResponseEntity.ok("Workflow execution started! Check your console logs.");
+    public ResponseEntity<Map<String, String>> executeWorkflow(@PathVariable String id) {
+        Workflow workflow = repository.findById(id);
+        if (workflow == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            JobHistory job = jobQueue.submit(id, workflow.getOwnerId(), JobQueue.Priority.INTERACTIVE);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                    "jobId", job.getJobId(),
+                    "status", job.getStatus(),
+                    "message", "Workflow execution queued. Track it at /api/jobs/" + job.getJobId()));
+        } catch (RejectedExecutionException e) {
+            // Queue is full: tell the client to back off instead of piling up requests
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(Map.of("message", "Job queue is full, retry later"));
+        }
+    }
+
+    // Reject cycles / unknown dependencies and bad cron expressions before they reach the orchestrator
+    private static String validationError(Workflow workflow) {
+        try {
+            WorkflowDag.of(workflow);
+        } catch (BadRequestException e) {
+            return e.getMessage();
+        }
+        if (workflow.getCronExpression() != null && !CronExpression.isValidExpression(workflow.getCronExpression())) {
+            return "Invalid cron expression: " + workflow.getCronExpression();
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
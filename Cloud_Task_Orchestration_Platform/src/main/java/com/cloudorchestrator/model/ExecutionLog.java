@@ -4,9 +4,8 @@ import lombok.*;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
 
 import java.time.Instant;
-import java.util.Map;
 
-// Stores execution results from Lambda 
+// Stores the result of one task in one job (written once, when the task finishes)
 @DynamoDbBean
 @Data
 @NoArgsConstructor
@@ -14,18 +13,36 @@ import java.util.Map;
 @Builder
 public class ExecutionLog {
 
-    private String logId;
+    private String jobId;
     private String taskId;
-    private Instant executedAt;
+    private String taskName;
     private String status; // SUCCESS / FAILED
-    private Map<String, Object> response;
+    private Instant startedAt;
+    private Instant executedAt; // when the task finished
+    private Long durationMs;
+    private String response; // raw task output
+    private Boolean offloaded; // the output is in the blob store; response holds {"$blobRef": uri, "sizeBytes": n}
     private String errorMessage;
 
+    // Execution policy outcome
+    private Integer attempts; // invocations started, hedges included
+    private Integer retries;
+    private Boolean hedged; // a duplicate invocation was sent
+    private Integer timeouts; // attempts that hit the task timeout
+    private Boolean cacheHit; // deterministic task served from the result cache, nothing was invoked
+
     @DynamoDbPartitionKey
-    @DynamoDbAttribute("logId")
-    public String getLogId() { return logId; }
+    @DynamoDbAttribute("jobId")
+    public String getJobId() { return jobId; }
 
+    // Table sort key, and partition key of TaskIndex (history of one task across jobs)
+    @DynamoDbSortKey
     @DynamoDbSecondaryPartitionKey(indexNames = "TaskIndex")
     @DynamoDbAttribute("taskId")
     public String getTaskId() { return taskId; }
+
+    @DynamoDbSecondarySortKey(indexNames = "TaskIndex")
+    @DynamoDbAttribute("executedAt")
+    @DynamoDbConvertedBy(SortableInstantConverter.class)
+    public Instant getExecutedAt() { return executedAt; }
 }
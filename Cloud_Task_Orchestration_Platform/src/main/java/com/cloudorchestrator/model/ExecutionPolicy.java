@@ -0,0 +1,24 @@
+package com.cloudorchestrator.model;
+
+import lombok.*;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+
+// How a task is invoked: stored as a nested map on the task. Unset fields fall back to the
+// orchestrator.execution.* defaults (see ExecutionPolicyRunner).
+@DynamoDbBean
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExecutionPolicy {
+
+    private Long timeoutMs; // per attempt
+    private Integer maxRetries; // attempts after the first one
+    private Long backoffBaseMs; // first retry waits up to this long, doubling each retry (full jitter)
+    private Long backoffMaxMs;
+
+    // Hedging sends a duplicate invocation when the first one is slow; only for idempotent tasks.
+    // Either a fixed delay, or the task's observed p95 latency.
+    private Long hedgeDelayMs;
+    private Boolean hedgeAtP95;
+}
@@ -1,15 +1,16 @@
 package com.cloudorchestrator.model;
 
 import java.time.Instant;
-import java.util.List;
-import java.util.Map;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbConvertedBy;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
 
 @DynamoDbBean
 @NoArgsConstructor
@@ -22,11 +23,32 @@ public class JobHistory {
     private Instant startTime;
     private Instant endTime;
     
-    // Stores the sequence of what happened: 
-    // [{"step": "TaskA", "result": "..."}, {"step": "TaskB", "result": "..."}]
-    private List<Map<String, String>> logs; 
+    // Summary only: per-task results live in the execution_log table (see ExecutionLog),
+    // so this item stays small no matter how many tasks the workflow has
+    private int tasksTotal;
+    private int tasksCompleted;
+    private int tasksFailed;
+    private String errorMessage;
+
+    // Execution policy outcomes, summed over the job's tasks
+    private int retries;
+    private int hedges;
+    private int timeouts;
+
+    // Result cache lookups of deterministic tasks; every hit is an invocation saved
+    private int cacheHits;
+    private int cacheMisses;
+
+    // Times the job was resumed after a failure (see POST /api/jobs/{jobId}/resume)
+    private int resumeCount;
+
+    // Tenant (Workflow.ownerId) and class the job was queued under, see JobQueue
+    private String ownerId;
+    private String priority; // "INTERACTIVE", "SCHEDULED"
     
     
+    // Partition key of WorkflowIndex (runs of one workflow by startTime)
+    @DynamoDbSecondaryPartitionKey(indexNames = "WorkflowIndex")
     public String getWorkflowId() {
 		return workflowId;
 	}
@@ -37,6 +59,8 @@ public class JobHistory {
 	}
 
 
+	// Partition key of StatusIndex (jobs in one status by startTime)
+	@DynamoDbSecondaryPartitionKey(indexNames = "StatusIndex")
 	public String getStatus() {
 		return status;
 	}
@@ -47,6 +71,8 @@ public class JobHistory {
 	}
 
 
+	@DynamoDbSecondarySortKey(indexNames = {"WorkflowIndex", "StatusIndex"})
+	@DynamoDbConvertedBy(SortableInstantConverter.class)
 	public Instant getStartTime() {
 		return startTime;
 	}
@@ -67,13 +93,123 @@ public class JobHistory {
 	}
 
 
-	public List<Map<String, String>> getLogs() {
-		return logs;
+	public int getTasksTotal() {
+		return tasksTotal;
 	}
 
 
-	public void setLogs(List<Map<String, String>> logs) {
-		this.logs = logs;
+	public void setTasksTotal(int tasksTotal) {
+		this.tasksTotal = tasksTotal;
+	}
+
+
+	public int getTasksCompleted() {
+		return tasksCompleted;
+	}
+
+
+	public void setTasksCompleted(int tasksCompleted) {
+		this.tasksCompleted = tasksCompleted;
+	}
+
+
+	public int getTasksFailed() {
+		return tasksFailed;
+	}
+
+
+	public void setTasksFailed(int tasksFailed) {
+		this.tasksFailed = tasksFailed;
+	}
+
+
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+
+	public void setErrorMessage(String errorMessage) {
+		this.errorMessage = errorMessage;
+	}
+
+
+	public int getRetries() {
+		return retries;
+	}
+
+
+	public void setRetries(int retries) {
+		this.retries = retries;
+	}
+
+
+	public int getHedges() {
+		return hedges;
+	}
+
+
+	public void setHedges(int hedges) {
+		this.hedges = hedges;
+	}
+
+
+	public int getTimeouts() {
+		return timeouts;
+	}
+
+
+	public void setTimeouts(int timeouts) {
+		this.timeouts = timeouts;
+	}
+
+
+	public int getCacheHits() {
+		return cacheHits;
+	}
+
+
+	public void setCacheHits(int cacheHits) {
+		this.cacheHits = cacheHits;
+	}
+
+
+	public int getCacheMisses() {
+		return cacheMisses;
+	}
+
+
+	public void setCacheMisses(int cacheMisses) {
+		this.cacheMisses = cacheMisses;
+	}
+
+
+	public int getResumeCount() {
+		return resumeCount;
+	}
+
+
+	public void setResumeCount(int resumeCount) {
+		this.resumeCount = resumeCount;
+	}
+
+
+	public String getOwnerId() {
+		return ownerId;
+	}
+
+
+	public void setOwnerId(String ownerId) {
+		this.ownerId = ownerId;
+	}
+
+
+	public String getPriority() {
+		return priority;
+	}
+
+
+	public void setPriority(String priority) {
+		this.priority = priority;
 	}
 
 
@@ -85,4 +221,28 @@ public class JobHistory {
 	@DynamoDbPartitionKey
     @DynamoDbAttribute("jobId")
     public String getJobId() { return jobId; }
+
+
+	// Point-in-time copy that is safe to serialize while the job keeps running
+	public JobHistory copy() {
+		return JobHistory.builder()
+				.jobId(jobId)
+				.workflowId(workflowId)
+				.status(status)
+				.startTime(startTime)
+				.endTime(endTime)
+				.tasksTotal(tasksTotal)
+				.tasksCompleted(tasksCompleted)
+				.tasksFailed(tasksFailed)
+				.errorMessage(errorMessage)
+				.retries(retries)
+				.hedges(hedges)
+				.timeouts(timeouts)
+				.cacheHits(cacheHits)
+				.cacheMisses(cacheMisses)
+				.resumeCount(resumeCount)
+				.ownerId(ownerId)
+				.priority(priority)
+				.build();
+	}
 }
@@ -0,0 +1,28 @@
+package com.cloudorchestrator.model;
+
+import lombok.*;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+
+// Fan-out of a MAP task (see MapTaskExecutor): stored as a nested map on the task.
+// Unset fields fall back to the orchestrator.executors.map.* defaults.
+@DynamoDbBean
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MapConfig {
+
+    private String itemsPath; // JSON pointer to the array in the task input, e.g. /context/extract/rows
+    private String itemType; // executor of each invocation: LAMBDA (default), JAVA or PROCESS; same handler as the task
+    private Integer concurrency; // invocations in flight at once
+    private Integer chunkSize; // elements per invocation; above 1 the function gets "items" and returns an array
+
+    // Failed elements tolerated before the whole task fails; with neither set, any failure fails it
+    private Integer maxFailedItems;
+    private Double maxFailedPercent;
+
+    private ExecutionPolicy itemPolicy; // timeout, retries and hedging of each invocation
+
+    // Optional task run on the collected results; its output becomes the MAP task's output
+    private String reduceTaskId;
+}
@@ -0,0 +1,21 @@
+package com.cloudorchestrator.model;
+
+import lombok.*;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
+
+// One row per scheduler shard lease ("shard#<n>") and per live orchestrator node ("node#<id>")
+@DynamoDbBean
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLease {
+
+    private String leaseKey;
+    private String owner; // nodeId holding the lease
+    private Long expiresAt; // epoch millis; an expired lease can be taken by any node
+
+    @DynamoDbPartitionKey
+    @DynamoDbAttribute("leaseKey")
+    public String getLeaseKey() { return leaseKey; }
+}
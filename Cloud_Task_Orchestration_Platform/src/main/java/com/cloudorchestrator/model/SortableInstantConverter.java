@@ -0,0 +1,47 @@
+package com.cloudorchestrator.model;
+
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Stores an Instant as an ISO-8601 UTC string that always has nine fraction digits, for sort keys.
+ *
+ * Instant.toString drops trailing zero digits ("...:05Z", "...:05.120Z"), and 'Z' sorts after '.', so those
+ * strings do not sort in time order. Rows written by older versions are still readable.
+ */
+public class SortableInstantConverter implements AttributeConverter<Instant> {
+
+    private static final DateTimeFormatter FORMAT =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS'Z'").withZone(ZoneOffset.UTC);
+
+    /** The stored form, also for sort key conditions. */
+    public static String format(Instant instant) {
+        return FORMAT.format(instant);
+    }
+
+    @Override
+    public AttributeValue transformFrom(Instant instant) {
+        return AttributeValue.fromS(format(instant));
+    }
+
+    @Override
+    public Instant transformTo(AttributeValue input) {
+        return Instant.parse(input.s());
+    }
+
+    @Override
+    public EnhancedType<Instant> type() {
+        return EnhancedType.of(Instant.class);
+    }
+
+    @Override
+    public AttributeValueType attributeValueType() {
+        return AttributeValueType.S;
+    }
+}
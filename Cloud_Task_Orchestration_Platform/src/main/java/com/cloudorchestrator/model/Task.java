@@ -1,13 +1,12 @@
 package com.cloudorchestrator.model;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.*;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
 
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @DynamoDbBean
@@ -20,10 +19,28 @@ public class Task {
     private String name;
     private String description;
     private String lambdaFunctionName;
+
+    // Executor to run the task with: LAMBDA (default when null), JAVA or PROCESS
+    private String type;
+    // JAVA: function bean name; PROCESS: registered command name; LAMBDA: optional, overrides lambdaFunctionName
+    private String handler;
     
-    // We use this for the API (Postman sees this)
-    private Map<String, Object> parameters = new HashMap<>(); 
+    // We use this for the API (Postman sees this); decoded from DynamoDB only when first read
+    private TaskParameters parameters = TaskParameters.of(null);
     
+    // Names of upstream tasks whose outputs this task needs in its "context".
+    // Null keeps the old behaviour (the whole context is sent).
+    private List<String> inputs;
+
+    // Same inputs always give the same result: results are memoized (see TaskResultCacheRepository)
+    private Boolean deterministic;
+
+    // Timeout, retries and hedging; null means the orchestrator defaults
+    private ExecutionPolicy executionPolicy;
+
+    // MAP tasks only: which array to fan out over, how wide, and the optional reduce step
+    private MapConfig mapConfig;
+
     private String scheduleExpression;
     private Instant createdAt;
     private Instant updatedAt;
@@ -40,29 +57,20 @@ public class Task {
     // 🔴 TRICK: Tell DynamoDB to IGNORE the complex Map
     @DynamoDbIgnore
     public Map<String, Object> getParameters() {
-        return parameters;
+        return parameters.get();
     }
 
-    // 🟢 TRICK: Tell DynamoDB to save this STRING instead
+    // 🟢 TRICK: Tell DynamoDB to save the holder instead, as a native map (see TaskParametersConverter)
+    @JsonIgnore
     @DynamoDbAttribute("parameters")
-    public String getParametersJson() {
-        try {
-            // Convert Map -> JSON String for DB storage
-            return objectMapper.writeValueAsString(parameters);
-        } catch (JsonProcessingException e) {
-            return "{}";
-        }
+    @DynamoDbConvertedBy(TaskParametersConverter.class)
+    public TaskParameters getStoredParameters() {
+        return parameters;
     }
 
-    // When loading from DB: Convert JSON String -> Map
-    public void setParametersJson(String json) {
-        try {
-            if (json != null) {
-                this.parameters = objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
-            }
-        } catch (JsonProcessingException e) {
-            this.parameters = new HashMap<>();
-        }
+    @JsonIgnore
+    public void setStoredParameters(TaskParameters parameters) {
+        this.parameters = parameters != null ? parameters : TaskParameters.of(null);
     }
 
 	public String getName() {
@@ -89,6 +97,54 @@ public class Task {
 		this.lambdaFunctionName = lambdaFunctionName;
 	}
 
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public String getHandler() {
+		return handler;
+	}
+
+	public void setHandler(String handler) {
+		this.handler = handler;
+	}
+
+	public List<String> getInputs() {
+		return inputs;
+	}
+
+	public void setInputs(List<String> inputs) {
+		this.inputs = inputs;
+	}
+
+	public Boolean getDeterministic() {
+		return deterministic;
+	}
+
+	public void setDeterministic(Boolean deterministic) {
+		this.deterministic = deterministic;
+	}
+
+	public ExecutionPolicy getExecutionPolicy() {
+		return executionPolicy;
+	}
+
+	public void setExecutionPolicy(ExecutionPolicy executionPolicy) {
+		this.executionPolicy = executionPolicy;
+	}
+
+	public MapConfig getMapConfig() {
+		return mapConfig;
+	}
+
+	public void setMapConfig(MapConfig mapConfig) {
+		this.mapConfig = mapConfig;
+	}
+
 	public String getScheduleExpression() {
 		return scheduleExpression;
 	}
@@ -122,6 +178,6 @@ public class Task {
 	}
 
 	public void setParameters(Map<String, Object> parameters) {
-		this.parameters = parameters;
+		this.parameters = TaskParameters.of(parameters);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.cloudorchestrator.model;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holder for {@link Task#getParameters()} that keeps the stored attribute as read from DynamoDB and
+ * decodes it only on first access. Loads that never look at the parameters (list pages, the scheduler)
+ * pay nothing, and a task saved back untouched writes the original attribute without re-encoding.
+ *
+ * Shared across threads through the task cache, hence the synchronized accessors.
+ */
+public final class TaskParameters {
+
+    private AttributeValue raw;
+    private Map<String, Object> decoded;
+
+    private TaskParameters(AttributeValue raw, Map<String, Object> decoded) {
+        this.raw = raw;
+        this.decoded = decoded;
+    }
+
+    public static TaskParameters of(Map<String, Object> parameters) {
+        return new TaskParameters(null, parameters != null ? parameters : new HashMap<>());
+    }
+
+    static TaskParameters stored(AttributeValue raw) {
+        return new TaskParameters(raw, null);
+    }
+
+    public synchronized Map<String, Object> get() {
+        if (decoded == null) {
+            decoded = TaskParametersConverter.decode(raw);
+            raw = null; // the map may be mutated from here on, so it is the only source of truth
+        }
+        return decoded;
+    }
+
+    /** The stored attribute if it was never decoded and is already in the native format, else null. */
+    synchronized AttributeValue untouchedNative() {
+        return raw != null && raw.hasM() ? raw : null;
+    }
+}
@@ -0,0 +1,131 @@
+package com.cloudorchestrator.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Stores task parameters as a native DynamoDB map (M) instead of a JSON string.
+ *
+ * Reading only wraps the attribute in a {@link TaskParameters}; decoding happens on first use.
+ * Rows written by older versions hold a JSON string (S): they are still readable, and are rewritten
+ * as a native map the next time the task is saved.
+ */
+public class TaskParametersConverter implements AttributeConverter<TaskParameters> {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public AttributeValue transformFrom(TaskParameters parameters) {
+        AttributeValue untouched = parameters.untouchedNative();
+        if (untouched != null) return untouched;
+        return AttributeValue.fromM(encodeMap(parameters.get()));
+    }
+
+    @Override
+    public TaskParameters transformTo(AttributeValue input) {
+        return TaskParameters.stored(input);
+    }
+
+    @Override
+    public EnhancedType<TaskParameters> type() {
+        return EnhancedType.of(TaskParameters.class);
+    }
+
+    @Override
+    public AttributeValueType attributeValueType() {
+        return AttributeValueType.M;
+    }
+
+    static Map<String, Object> decode(AttributeValue value) {
+        if (value == null || Boolean.TRUE.equals(value.nul())) return new HashMap<>();
+
+        // Legacy format: JSON string
+        if (value.s() != null) {
+            try {
+                Map<String, Object> parameters = objectMapper.readValue(value.s(), new TypeReference<Map<String, Object>>() {});
+                return parameters != null ? parameters : new HashMap<>();
+            } catch (JsonProcessingException e) {
+                return new HashMap<>();
+            }
+        }
+        if (value.hasM()) {
+            return decodeMap(value.m());
+        }
+        return new HashMap<>();
+    }
+
+    private static Map<String, AttributeValue> encodeMap(Map<String, ?> map) {
+        Map<String, AttributeValue> encoded = new LinkedHashMap<>();
+        map.forEach((key, value) -> encoded.put(key, encode(value)));
+        return encoded;
+    }
+
+    private static AttributeValue encode(Object value) {
+        if (value == null) return AttributeValue.fromNul(true);
+        if (value instanceof String s) return AttributeValue.fromS(s);
+        if (value instanceof Number n) return AttributeValue.fromN(n.toString());
+        if (value instanceof Boolean b) return AttributeValue.fromBool(b);
+        if (value instanceof byte[] bytes) return AttributeValue.fromB(SdkBytes.fromByteArray(bytes));
+        if (value instanceof Map<?, ?> m) {
+            Map<String, AttributeValue> encoded = new LinkedHashMap<>();
+            m.forEach((k, v) -> encoded.put(String.valueOf(k), encode(v)));
+            return AttributeValue.fromM(encoded);
+        }
+        if (value instanceof Collection<?> c) {
+            List<AttributeValue> encoded = new ArrayList<>(c.size());
+            c.forEach(v -> encoded.add(encode(v)));
+            return AttributeValue.fromL(encoded);
+        }
+        // Anything else (e.g. a POJO put in by Java code) goes through Jackson's tree model
+        return encode(objectMapper.convertValue(value, Object.class));
+    }
+
+    private static Map<String, Object> decodeMap(Map<String, AttributeValue> map) {
+        Map<String, Object> decoded = new LinkedHashMap<>();
+        map.forEach((key, value) -> decoded.put(key, decodeValue(value)));
+        return decoded;
+    }
+
+    private static Object decodeValue(AttributeValue value) {
+        if (value.s() != null) return value.s();
+        if (value.n() != null) return decodeNumber(value.n());
+        if (value.bool() != null) return value.bool();
+        if (value.b() != null) return value.b().asByteArray();
+        if (value.hasM()) return decodeMap(value.m());
+        if (value.hasL()) {
+            List<Object> list = new ArrayList<>(value.l().size());
+            value.l().forEach(v -> list.add(decodeValue(v)));
+            return list;
+        }
+        if (value.hasSs()) return new ArrayList<>(value.ss());
+        if (value.hasNs()) {
+            List<Object> list = new ArrayList<>(value.ns().size());
+            value.ns().forEach(n -> list.add(decodeNumber(n)));
+            return list;
+        }
+        return null;
+    }
+
+    // Same shapes Jackson produces for JSON numbers: Integer, Long, BigInteger or Double
+    private static Number decodeNumber(String n) {
+        BigDecimal number = new BigDecimal(n);
+        if (number.scale() <= 0) {
+            try {
+                long l = number.longValueExact();
+                return l == (int) l ? (Number) (int) l : (Number) l;
+            } catch (ArithmeticException e) {
+                return number.toBigInteger();
+            }
+        }
+        return number.doubleValue();
+    }
+}
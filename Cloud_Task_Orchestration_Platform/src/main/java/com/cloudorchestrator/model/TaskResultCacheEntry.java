@@ -0,0 +1,25 @@
+package com.cloudorchestrator.model;
+
+import lombok.*;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
+
+import java.time.Instant;
+
+// Memoized result of a deterministic task, keyed by a hash of what the task was run with
+@DynamoDbBean
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskResultCacheEntry {
+
+    private String cacheKey; // SHA-256 of executor, handler, task version (updatedAt), parameters and inputs
+    private String taskId; // task that produced it (informational)
+    private String response; // result JSON
+    private Instant createdAt;
+    private Long expiresAt; // epoch seconds; configure it as the table's TTL attribute
+
+    @DynamoDbPartitionKey
+    @DynamoDbAttribute("cacheKey")
+    public String getCacheKey() { return cacheKey; }
+}
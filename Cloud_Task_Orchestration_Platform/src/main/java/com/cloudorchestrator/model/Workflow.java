@@ -4,6 +4,7 @@ import lombok.*;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @DynamoDbBean
 @Data
@@ -18,8 +19,15 @@ public class Workflow {
     
     // Links to the separate "Task" table
     private List<String> taskIds; 
+
+    // Optional DAG edges: taskId -> taskIds it waits for.
+    // When empty, taskIds is executed as a simple chain (each task waits for the previous one).
+    private Map<String, List<String>> dependencies;
     
     private String status; // e.g., "ACTIVE", "PAUSED"
+
+    // UserProfile.userId of the tenant whose quotas and fair share the runs count against (see TenantQuotas)
+    private String ownerId;
     private Instant createdAt;
     private Instant updatedAt;
     
@@ -66,6 +74,14 @@ public class Workflow {
 		this.taskIds = taskIds;
 	}
 
+	public Map<String, List<String>> getDependencies() {
+		return dependencies;
+	}
+
+	public void setDependencies(Map<String, List<String>> dependencies) {
+		this.dependencies = dependencies;
+	}
+
 	public String getStatus() {
 		return status;
 	}
@@ -74,6 +90,14 @@ public class Workflow {
 		this.status = status;
 	}
 
+	public String getOwnerId() {
+		return ownerId;
+	}
+
+	public void setOwnerId(String ownerId) {
+		this.ownerId = ownerId;
+	}
+
 	public Instant getCreatedAt() {
 		return createdAt;
 	}
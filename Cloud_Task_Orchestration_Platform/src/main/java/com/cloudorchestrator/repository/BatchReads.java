@@ -0,0 +1,59 @@
+package com.cloudorchestrator.repository;
+
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+
+import java.util.*;
+
+// Shared BatchGetItem logic: chunking at the API limit and retrying unprocessed keys with backoff
+final class BatchReads {
+
+    static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_ATTEMPTS = 8;
+
+    private BatchReads() {
+    }
+
+    /**
+     * Loads the items whose partition key ({@code keyAttribute}) is in {@code ids}.
+     *
+     * @return found items by id; ids that do not exist are absent
+     * @throws IllegalStateException if DynamoDB keeps returning unprocessed keys after all retries
+     */
+    static <T> Map<String, T> getAll(DynamoDbClient client, String tableName, TableSchema<T> schema,
+                                     String keyAttribute, Collection<String> ids) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<String, T> found = new HashMap<>();
+
+        for (int start = 0; start < distinctIds.size(); start += MAX_BATCH_SIZE) {
+            List<Map<String, AttributeValue>> keys = distinctIds
+                    .subList(start, Math.min(start + MAX_BATCH_SIZE, distinctIds.size()))
+                    .stream()
+                    .map(id -> Map.of(keyAttribute, AttributeValue.fromS(id)))
+                    .toList();
+            Map<String, KeysAndAttributes> request = Map.of(tableName, KeysAndAttributes.builder().keys(keys).build());
+
+            for (int attempt = 1; !request.isEmpty(); attempt++) {
+                Map<String, KeysAndAttributes> requestItems = request;
+                BatchGetItemResponse response = client.batchGetItem(r -> r.requestItems(requestItems));
+
+                for (Map<String, AttributeValue> item : response.responses().getOrDefault(tableName, List.of())) {
+                    found.put(item.get(keyAttribute).s(), schema.mapToItem(item));
+                }
+
+                request = response.hasUnprocessedKeys() ? response.unprocessedKeys() : Map.of();
+                if (!request.isEmpty()) {
+                    if (attempt == MAX_ATTEMPTS) {
+                        throw new IllegalStateException("BatchGetItem on " + tableName + " still throttled after "
+                                + MAX_ATTEMPTS + " attempts");
+                    }
+                    BatchWrites.backoff(attempt);
+                }
+            }
+        }
+        return found;
+    }
+}
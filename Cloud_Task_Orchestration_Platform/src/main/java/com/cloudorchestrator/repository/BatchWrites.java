@@ -0,0 +1,69 @@
+package com.cloudorchestrator.repository;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Shared BatchWriteItem logic: chunking at the API limit, retrying unprocessed items with backoff, failing per chunk
+final class BatchWrites {
+
+    static final int MAX_BATCH_SIZE = 25;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MS = 50;
+
+    private BatchWrites() {
+    }
+
+    /**
+     * Puts all items into the table. A request that fails (an invalid item, a missing table, ...) fails only
+     * the items of its chunk; the other chunks are still written.
+     *
+     * @return the ids of the items that were not written, with the reason (empty on full success)
+     */
+    static <T> Map<String, String> putAll(DynamoDbEnhancedClient client, DynamoDbTable<T> table, Class<T> type,
+                                          List<T> items, Function<T, String> idOf) {
+        Map<String, String> failed = new LinkedHashMap<>();
+        for (int start = 0; start < items.size(); start += MAX_BATCH_SIZE) {
+            List<T> pending = items.subList(start, Math.min(start + MAX_BATCH_SIZE, items.size()));
+            try {
+                for (int attempt = 1; !pending.isEmpty(); attempt++) {
+                    WriteBatch.Builder<T> batch = WriteBatch.builder(type).mappedTableResource(table);
+                    pending.forEach(batch::addPutItem);
+
+                    BatchWriteResult result = client.batchWriteItem(BatchWriteItemEnhancedRequest.builder()
+                            .writeBatches(batch.build())
+                            .build());
+                    pending = result.unprocessedPutItemsForTable(table);
+
+                    if (!pending.isEmpty()) {
+                        if (attempt == MAX_ATTEMPTS) {
+                            for (T item : pending) failed.put(idOf.apply(item), "Not written (throttled), resend it");
+                            break;
+                        }
+                        backoff(attempt);
+                    }
+                }
+            } catch (RuntimeException e) {
+                for (T item : pending) failed.put(idOf.apply(item), "Not written: " + e.getMessage());
+            }
+        }
+        return failed;
+    }
+
+    // Exponential backoff with full jitter, as recommended for throttled DynamoDB batches
+    static void backoff(int attempt) {
+        long cap = BASE_BACKOFF_MS << Math.min(attempt, 10);
+        try {
+            Thread.sleep((long) (Math.random() * cap));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
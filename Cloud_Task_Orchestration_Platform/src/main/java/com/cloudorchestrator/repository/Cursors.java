@@ -0,0 +1,53 @@
+package com.cloudorchestrator.repository;
+
+import com.cloudorchestrator.service.BadRequestException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns DynamoDB's LastEvaluatedKey into an opaque URL-safe cursor and back.
+ * All our key attributes are strings, so the key is encoded as a flat JSON object.
+ */
+final class Cursors {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Cursors() {
+    }
+
+    static String encode(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) return null;
+
+        Map<String, String> key = new HashMap<>();
+        lastEvaluatedKey.forEach((name, value) -> key.put(name, value.s()));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @throws BadRequestException if the cursor was not produced by {@link #encode}
+     */
+    static Map<String, AttributeValue> decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+
+        try {
+            Map<String, String> key = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor),
+                    new TypeReference<Map<String, String>>() {});
+            Map<String, AttributeValue> exclusiveStartKey = new HashMap<>();
+            key.forEach((name, value) -> exclusiveStartKey.put(name, AttributeValue.fromS(value)));
+            return exclusiveStartKey;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+}
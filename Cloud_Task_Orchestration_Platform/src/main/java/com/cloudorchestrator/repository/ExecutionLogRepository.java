@@ -0,0 +1,70 @@
+package com.cloudorchestrator.repository;
+
+import com.cloudorchestrator.model.ExecutionLog;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+
+import java.util.List;
+
+@Repository
+@Timed("orchestrator.dynamodb")
+public class ExecutionLogRepository {
+
+    private final DynamoDbTable<ExecutionLog> table;
+    private final DynamoDbIndex<ExecutionLog> taskIndex;
+
+    public ExecutionLogRepository(DynamoDbEnhancedClient client) {
+        // Partition key jobId, sort key taskId; GSI "TaskIndex" on taskId + executedAt
+        this.table = client.table("execution_log", TableSchema.fromBean(ExecutionLog.class));
+        this.taskIndex = table.index("TaskIndex");
+    }
+
+    public ExecutionLog save(ExecutionLog log) {
+        table.putItem(log);
+        return log;
+    }
+
+    // All task results of one job
+    public Page<ExecutionLog> findByJobId(String jobId, int limit, String cursor) {
+        QueryEnhancedRequest request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(jobId).build()))
+                .limit(limit)
+                .exclusiveStartKey(Cursors.decode(cursor))
+                .build();
+
+        software.amazon.awssdk.enhanced.dynamodb.model.Page<ExecutionLog> page =
+                table.query(request).iterator().next();
+        return new Page<>(page.items(), Cursors.encode(page.lastEvaluatedKey()));
+    }
+
+    // Checkpoints of a job: every task that completed, across all pages
+    public List<ExecutionLog> findSucceededByJobId(String jobId) {
+        QueryEnhancedRequest request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(jobId).build()))
+                .build();
+        return table.query(request).items().stream()
+                .filter(log -> "SUCCESS".equals(log.getStatus()))
+                .toList();
+    }
+
+    // History of one task across jobs, most recent first
+    public Page<ExecutionLog> findByTaskId(String taskId, int limit, String cursor) {
+        QueryEnhancedRequest request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(taskId).build()))
+                .scanIndexForward(false)
+                .limit(limit)
+                .exclusiveStartKey(Cursors.decode(cursor))
+                .build();
+
+        software.amazon.awssdk.enhanced.dynamodb.model.Page<ExecutionLog> page =
+                taskIndex.query(request).iterator().next();
+        return new Page<>(page.items(), Cursors.encode(page.lastEvaluatedKey()));
+    }
+}
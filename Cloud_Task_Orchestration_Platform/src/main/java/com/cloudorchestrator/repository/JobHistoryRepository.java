@@ -1,19 +1,37 @@
 package com.cloudorchestrator.repository;
 
 import com.cloudorchestrator.model.JobHistory;
+import com.cloudorchestrator.model.SortableInstantConverter;
+import com.cloudorchestrator.service.BadRequestException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Repository
+@Timed("orchestrator.dynamodb")
 public class JobHistoryRepository {
+    private final DynamoDbEnhancedClient client;
     private final DynamoDbTable<JobHistory> table;
+    private final DynamoDbIndex<JobHistory> workflowIndex;
+    private final DynamoDbIndex<JobHistory> statusIndex;
 
     public JobHistoryRepository(DynamoDbEnhancedClient client) {
+        // Partition key jobId; GSIs "WorkflowIndex" on workflowId + startTime and "StatusIndex" on status + startTime
+        this.client = client;
         this.table = client.table("job_history", TableSchema.fromBean(JobHistory.class));
+        this.workflowIndex = table.index("WorkflowIndex");
+        this.statusIndex = table.index("StatusIndex");
     }
 
     public JobHistory save(JobHistory job) {
@@ -23,4 +41,62 @@ public class JobHistoryRepository {
         table.putItem(job);
         return job;
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes many jobs with BatchWriteItem (25 per call), retrying unprocessed items.
+     *
+     * @return the jobs that could not be written after all retries
+     */
+    public List<JobHistory> saveAll(List<JobHistory> jobs) {
+        for (JobHistory job : jobs) {
+            if (job.getJobId() == null) {
+                job.setJobId(UUID.randomUUID().toString());
+            }
+        }
+        Map<String, String> failed = BatchWrites.putAll(client, table, JobHistory.class, jobs, JobHistory::getJobId);
+        return failed.isEmpty() ? List.of() : jobs.stream().filter(job -> failed.containsKey(job.getJobId())).toList();
+    }
+
+    public JobHistory findById(String jobId) {
+        return table.getItem(Key.builder().partitionValue(jobId).build());
+    }
+
+    // Runs of one workflow (WorkflowIndex), most recent first
+    public Page<JobHistory> findByWorkflowId(String workflowId, int limit, String cursor) {
+        return queryNewestFirst(workflowIndex, workflowId, null, null, limit, cursor);
+    }
+
+    // Jobs in one status (StatusIndex), most recent first; from/to (inclusive, optional) bound the start time
+    public Page<JobHistory> findByStatus(String status, Instant from, Instant to, int limit, String cursor) {
+        return queryNewestFirst(statusIndex, status, from, to, limit, cursor);
+    }
+
+    private Page<JobHistory> queryNewestFirst(DynamoDbIndex<JobHistory> index, String partition,
+                                              Instant from, Instant to, int limit, String cursor) {
+        QueryEnhancedRequest request = QueryEnhancedRequest.builder()
+                .queryConditional(startTimeBetween(partition, from, to))
+                .scanIndexForward(false)
+                .limit(limit)
+                .exclusiveStartKey(Cursors.decode(cursor))
+                .build();
+
+        software.amazon.awssdk.enhanced.dynamodb.model.Page<JobHistory> page = index.query(request).iterator().next();
+        return new Page<>(page.items(), Cursors.encode(page.lastEvaluatedKey()));
+    }
+
+    // startTime is stored as a fixed-width ISO-8601 string (SortableInstantConverter), so the range is a string
+    // range on the sort key
+    private static QueryConditional startTimeBetween(String partition, Instant from, Instant to) {
+        if (from != null && to != null) {
+            if (from.isAfter(to)) throw new BadRequestException("from must not be after to");
+            return QueryConditional.sortBetween(startTimeKey(partition, from), startTimeKey(partition, to));
+        }
+        if (from != null) return QueryConditional.sortGreaterThanOrEqualTo(startTimeKey(partition, from));
+        if (to != null) return QueryConditional.sortLessThanOrEqualTo(startTimeKey(partition, to));
+        return QueryConditional.keyEqualTo(Key.builder().partitionValue(partition).build());
+    }
+
+    private static Key startTimeKey(String partition, Instant startTime) {
+        return Key.builder().partitionValue(partition).sortValue(SortableInstantConverter.format(startTime)).build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.cloudorchestrator.repository;
+
+import com.cloudorchestrator.model.JobHistory;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Write-behind buffer in front of {@link JobHistoryRepository}.
+ *
+ * Updates to the same job replace each other while they wait, so a job that changes after every task
+ * is written once per flush instead of once per task. Pending jobs are flushed with BatchWriteItem
+ * when the buffer reaches orchestrator.job-history.max-pending entries or every
+ * orchestrator.job-history.flush-interval-ms. Terminal states (COMPLETED / FAILED) are flushed before
+ * {@link #save} returns, so a finished job is always durable.
+ */
+@Component
+public class JobHistoryWriteBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobHistoryWriteBuffer.class);
+    private static final Set<String> TERMINAL_STATUSES = Set.of("COMPLETED", "FAILED");
+
+    private final JobHistoryRepository repository;
+    private final int maxPending;
+
+    // Latest snapshot per jobId, waiting to be written
+    private final Map<String, JobHistory> pending = new ConcurrentHashMap<>();
+    private final Executor sizeTriggeredFlusher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "job-history-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JobHistoryWriteBuffer(JobHistoryRepository repository,
+                                 @Value("${orchestrator.job-history.max-pending:100}") int maxPending) {
+        this.repository = repository;
+        this.maxPending = maxPending;
+    }
+
+    public JobHistory save(JobHistory job) {
+        if (job.getJobId() == null) {
+            job.setJobId(UUID.randomUUID().toString());
+        }
+
+        JobHistory snapshot;
+        synchronized (job) {
+            snapshot = job.copy();
+        }
+        pending.put(snapshot.getJobId(), snapshot);
+
+        if (TERMINAL_STATUSES.contains(snapshot.getStatus())) {
+            flush();
+        } else if (pending.size() >= maxPending) {
+            sizeTriggeredFlusher.execute(this::flush);
+        }
+        return job;
+    }
+
+    /** Returns the not-yet-written state of a job, or null if nothing is pending for it. */
+    public JobHistory getPending(String jobId) {
+        return pending.get(jobId);
+    }
+
+    /**
+     * Writes every pending job. Flushes are serialized so an older snapshot can never be written after
+     * a newer one for the same job.
+     */
+    @Scheduled(fixedDelayString = "${orchestrator.job-history.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) return;
+
+        List<JobHistory> batch = new ArrayList<>(pending.size());
+        for (String jobId : new ArrayList<>(pending.keySet())) {
+            JobHistory snapshot = pending.remove(jobId);
+            if (snapshot != null) batch.add(snapshot);
+        }
+
+        List<JobHistory> failed;
+        try {
+            failed = repository.saveAll(batch);
+        } catch (RuntimeException e) {
+            logger.warn("Job history flush failed batch={}: {}", batch.size(), e.getMessage());
+            failed = batch;
+        }
+
+        // Keep what could not be written for the next flush, unless a newer update already replaced it
+        for (JobHistory snapshot : failed) {
+            pending.putIfAbsent(snapshot.getJobId(), snapshot);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,102 @@
+package com.cloudorchestrator.repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Small in-process LRU cache with a TTL, used in front of DynamoDB definition tables.
+ *
+ * Entries carry a version (e.g. updatedAt): {@link #put} never replaces a cached value with an older one,
+ * so a slow read that started before a save cannot overwrite the saved value with stale data.
+ */
+public class NearCache<V> {
+
+    public record Stats(String name, int size, int maxSize, long hits, long misses, long evictions, long expirations) {
+    }
+
+    private record Entry<V>(V value, Instant version, long expiresAtMillis) {
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Function<V, Instant> versionOf;
+    private final Clock clock;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    // Access-ordered LinkedHashMap = LRU; guarded by "this"
+    private final LinkedHashMap<String, Entry<V>> entries;
+
+    public NearCache(String name, int maxSize, Duration ttl, Function<V, Instant> versionOf) {
+        this(name, maxSize, ttl, versionOf, Clock.systemUTC());
+    }
+
+    NearCache(String name, int maxSize, Duration ttl, Function<V, Instant> versionOf, Clock clock) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.versionOf = versionOf;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                if (size() > NearCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /** Returns the cached value, or null if it is absent or expired. */
+    public synchronized V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAtMillis() <= clock.millis()) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value();
+    }
+
+    public synchronized void put(String key, V value) {
+        if (key == null || value == null || maxSize <= 0) return;
+
+        Instant version = versionOf.apply(value);
+        Entry<V> current = entries.get(key);
+        if (current != null && isOlder(version, current.version())) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, version, clock.millis() + ttlMillis));
+    }
+
+    public synchronized void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(name, entries.size(), maxSize, hits, misses, evictions, expirations);
+    }
+
+    // Unknown versions (legacy rows without updatedAt) never win over a known one
+    private static boolean isOlder(Instant candidate, Instant cached) {
+        if (cached == null) return false;
+        if (candidate == null) return true;
+        return candidate.isBefore(cached);
+    }
+}
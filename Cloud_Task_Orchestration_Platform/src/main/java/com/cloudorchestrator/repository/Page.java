@@ -0,0 +1,11 @@
+package com.cloudorchestrator.repository;
+
+import java.util.List;
+
+/**
+ * One page of query/scan results.
+ *
+ * @param nextCursor opaque cursor for the next page, null on the last page
+ */
+public record Page<T>(List<T> items, String nextCursor) {
+}
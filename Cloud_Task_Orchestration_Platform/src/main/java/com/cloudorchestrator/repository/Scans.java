@@ -0,0 +1,50 @@
+package com.cloudorchestrator.repository;
+
+import com.cloudorchestrator.service.BadRequestException;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+// Shared scan helpers for the list endpoints: cursor paging and attribute projection
+final class Scans {
+
+    private static final Pattern FIELD_NAME = Pattern.compile("[A-Za-z][A-Za-z0-9_]*");
+
+    private Scans() {
+    }
+
+    /**
+     * @param limit          page size, or null to scan everything (pages are fetched lazily)
+     * @param fields         bean property names to return; null/empty means all attributes
+     * @param attributeNames bean property -> DynamoDB attribute, for properties stored under another name
+     * @param keyAttribute   always projected so items stay addressable
+     */
+    static ScanEnhancedRequest request(Integer limit, String cursor, Collection<String> fields,
+                                       Map<String, String> attributeNames, String keyAttribute) {
+        ScanEnhancedRequest.Builder builder = ScanEnhancedRequest.builder()
+                .exclusiveStartKey(Cursors.decode(cursor));
+        if (limit != null) {
+            builder.limit(limit);
+        }
+
+        if (fields != null && !fields.isEmpty()) {
+            Set<String> attributes = new LinkedHashSet<>();
+            attributes.add(keyAttribute);
+            for (String field : fields) {
+                if (!FIELD_NAME.matcher(field).matches()) {
+                    throw new BadRequestException("Invalid field name: " + field);
+                }
+                attributes.add(attributeNames.getOrDefault(field, field));
+            }
+            builder.attributesToProject(new ArrayList<>(attributes));
+        }
+        return builder.build();
+    }
+
+    static <T> Page<T> firstPage(DynamoDbTable<T> table, ScanEnhancedRequest request) {
+        software.amazon.awssdk.enhanced.dynamodb.model.Page<T> page = table.scan(request).iterator().next();
+        return new Page<>(page.items(), Cursors.encode(page.lastEvaluatedKey()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.cloudorchestrator.repository;
+
+import com.cloudorchestrator.model.SchedulerLease;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.List;
+
+@Repository
+@Timed("orchestrator.dynamodb")
+public class SchedulerLeaseRepository {
+
+    private final DynamoDbTable<SchedulerLease> table;
+
+    public SchedulerLeaseRepository(DynamoDbEnhancedClient enhancedClient) {
+        this.table = enhancedClient.table("scheduler_lease", TableSchema.fromBean(SchedulerLease.class));
+    }
+
+    /**
+     * Takes or renews a lease with a conditional write: succeeds only if the lease is free, expired,
+     * or already held by this owner.
+     */
+    public boolean tryAcquire(String leaseKey, String owner, long now, long ttlMillis) {
+        SchedulerLease lease = new SchedulerLease(leaseKey, owner, now + ttlMillis);
+        Expression condition = Expression.builder()
+                .expression("attribute_not_exists(leaseKey) OR expiresAt < :now OR #owner = :owner")
+                .putExpressionName("#owner", "owner") // OWNER is a DynamoDB reserved word
+                .putExpressionValue(":now", AttributeValue.fromN(Long.toString(now)))
+                .putExpressionValue(":owner", AttributeValue.fromS(owner))
+                .build();
+        try {
+            table.putItem(PutItemEnhancedRequest.builder(SchedulerLease.class)
+                    .item(lease)
+                    .conditionExpression(condition)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    // Gives a lease back, only if we still hold it
+    public boolean release(String leaseKey, String owner) {
+        Expression condition = Expression.builder()
+                .expression("#owner = :owner")
+                .putExpressionName("#owner", "owner")
+                .putExpressionValue(":owner", AttributeValue.fromS(owner))
+                .build();
+        try {
+            table.deleteItem(DeleteItemEnhancedRequest.builder()
+                    .key(Key.builder().partitionValue(leaseKey).build())
+                    .conditionExpression(condition)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    // Node liveness record; unconditional because only the node itself writes it
+    public void heartbeat(String leaseKey, String owner, long expiresAt) {
+        table.putItem(new SchedulerLease(leaseKey, owner, expiresAt));
+    }
+
+    // Workflow change marker; unconditional, the latest change wins
+    public void putMarker(String leaseKey, String owner, long expiresAt) {
+        table.putItem(new SchedulerLease(leaseKey, owner, expiresAt));
+    }
+
+    public void delete(String leaseKey) {
+        table.deleteItem(Key.builder().partitionValue(leaseKey).build());
+    }
+
+    // The table holds one row per shard, per node and per recently changed workflow, so a scan stays small
+    public List<SchedulerLease> findAll() {
+        return table.scan().items().stream().toList();
+    }
+}
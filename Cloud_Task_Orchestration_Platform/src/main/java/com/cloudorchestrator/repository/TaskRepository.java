@@ -2,23 +2,37 @@ package com.cloudorchestrator.repository;
 
 
 import com.cloudorchestrator.model.Task;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
-import java.util.List;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.*;
 
 @Repository
+@Timed("orchestrator.dynamodb")
 public class TaskRepository {
 
+    private final DynamoDbEnhancedClient enhancedClient; // BatchWriteItem
     private final DynamoDbTable<Task> taskTable;
+    private final DynamoDbClient dynamoDbClient; // BatchGetItem with explicit retry of unprocessed keys
 
-    public TaskRepository(DynamoDbEnhancedClient enhancedClient) {
+    // Definitions rarely change between runs, so the hot path reads them from memory
+    private final NearCache<Task> cache;
+
+    public TaskRepository(DynamoDbEnhancedClient enhancedClient, DynamoDbClient dynamoDbClient,
+                          @Value("${orchestrator.cache.max-size:10000}") int cacheMaxSize,
+                          @Value("${orchestrator.cache.ttl-seconds:300}") long cacheTtlSeconds) {
         // Connects to AWS Table named "task"
+        this.enhancedClient = enhancedClient;
         this.taskTable = enhancedClient.table("task", TableSchema.fromBean(Task.class));
+        this.dynamoDbClient = dynamoDbClient;
+        this.cache = new NearCache<>("task", cacheMaxSize, Duration.ofSeconds(cacheTtlSeconds), Task::getUpdatedAt);
     }
 
     public Task save(Task task) {
@@ -26,18 +40,85 @@ public class TaskRepository {
             task.setTaskId(UUID.randomUUID().toString());
         }
         taskTable.putItem(task);
+        cache.invalidate(task.getTaskId()); // our own write always replaces the cached copy
+        cache.put(task.getTaskId(), task);
         return task;
     }
 
+    /**
+     * Writes many tasks with BatchWriteItem (25 per call), retrying unprocessed items.
+     * Task ids must be unique within the list.
+     *
+     * @return ids of the tasks that could not be written, with the reason
+     */
+    public Map<String, String> saveAll(List<Task> tasks) {
+        for (Task task : tasks) {
+            if (task.getTaskId() == null || task.getTaskId().isEmpty()) {
+                task.setTaskId(UUID.randomUUID().toString());
+            }
+        }
+        Map<String, String> failed = BatchWrites.putAll(enhancedClient, taskTable, Task.class, tasks, Task::getTaskId);
+
+        for (Task task : tasks) {
+            cache.invalidate(task.getTaskId());
+            if (!failed.containsKey(task.getTaskId())) cache.put(task.getTaskId(), task);
+        }
+        return failed;
+    }
+
+    // Read-through near cache
     public Task findById(String taskId) {
-        return taskTable.getItem(Key.builder().partitionValue(taskId).build());
+        Task cached = cache.get(taskId);
+        if (cached != null) return cached;
+
+        Task task = taskTable.getItem(Key.builder().partitionValue(taskId).build());
+        cache.put(taskId, task);
+        return task;
+    }
+
+    /**
+     * Multi-get in as few round trips as possible (BatchGetItem, 100 keys per call).
+     * Returns the tasks in the order of {@code taskIds}; ids that do not exist are skipped.
+     */
+    public List<Task> findAllById(Collection<String> taskIds) {
+        Map<String, Task> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String taskId : taskIds) {
+            Task cached = cache.get(taskId);
+            if (cached != null) found.put(taskId, cached);
+            else misses.add(taskId);
+        }
+
+        if (!misses.isEmpty()) {
+            BatchReads.getAll(dynamoDbClient, taskTable.tableName(), taskTable.tableSchema(), "taskId", misses)
+                    .forEach((taskId, task) -> {
+                        cache.put(taskId, task);
+                        found.put(taskId, task);
+                    });
+        }
+        return taskIds.stream().map(found::get).filter(Objects::nonNull).toList();
     }
 
     public List<Task> findAll() {
         return taskTable.scan().items().stream().toList();
     }
     
+    // One page of at most "limit" tasks, optionally projected to a few fields
+    public Page<Task> findPage(int limit, String cursor, Collection<String> fields) {
+        return Scans.firstPage(taskTable, Scans.request(limit, cursor, fields, Map.of(), "taskId"));
+    }
+
+    // Whole table as a lazy iterator (one DynamoDB page in memory at a time)
+    public Iterator<Task> scanAll(Collection<String> fields) {
+        return taskTable.scan(Scans.request(null, null, fields, Map.of(), "taskId")).items().iterator();
+    }
+    
     public void delete(String taskId) {
         taskTable.deleteItem(Key.builder().partitionValue(taskId).build());
+        cache.invalidate(taskId);
+    }
+
+    public NearCache.Stats getCacheStats() {
+        return cache.stats();
     }
 }
\ No newline at end of file
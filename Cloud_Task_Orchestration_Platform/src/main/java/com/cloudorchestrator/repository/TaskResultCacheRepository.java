@@ -0,0 +1,70 @@
+package com.cloudorchestrator.repository;
+
+import com.cloudorchestrator.model.TaskResultCacheEntry;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Two-tier cache of deterministic task results: a near cache in front of the "task_result_cache" table.
+ *
+ * Entries expire after orchestrator.result-cache.ttl-seconds. DynamoDB TTL deletes expired rows only
+ * eventually, so expiry is also checked on read.
+ */
+@Repository
+@Timed("orchestrator.dynamodb")
+public class TaskResultCacheRepository {
+
+    private final DynamoDbTable<TaskResultCacheEntry> table;
+    private final NearCache<TaskResultCacheEntry> cache;
+    private final Duration ttl;
+
+    public TaskResultCacheRepository(DynamoDbEnhancedClient client,
+                                     @Value("${orchestrator.result-cache.max-size:10000}") int maxSize,
+                                     @Value("${orchestrator.result-cache.ttl-seconds:86400}") long ttlSeconds) {
+        this.table = client.table("task_result_cache", TableSchema.fromBean(TaskResultCacheEntry.class));
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.cache = new NearCache<>("task_result", maxSize, ttl, TaskResultCacheEntry::getCreatedAt);
+    }
+
+    // Returns the live entry for the key, or null
+    public TaskResultCacheEntry find(String cacheKey) {
+        Instant now = Instant.now();
+        TaskResultCacheEntry entry = cache.get(cacheKey);
+        if (entry == null) {
+            entry = table.getItem(Key.builder().partitionValue(cacheKey).build());
+            if (entry == null) return null;
+            cache.put(cacheKey, entry);
+        }
+        if (entry.getExpiresAt() != null && entry.getExpiresAt() <= now.getEpochSecond()) {
+            cache.invalidate(cacheKey);
+            return null;
+        }
+        return entry;
+    }
+
+    public TaskResultCacheEntry save(String cacheKey, String taskId, String response) {
+        Instant now = Instant.now();
+        TaskResultCacheEntry entry = TaskResultCacheEntry.builder()
+                .cacheKey(cacheKey)
+                .taskId(taskId)
+                .response(response)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl).getEpochSecond())
+                .build();
+        table.putItem(entry);
+        cache.put(cacheKey, entry);
+        return entry;
+    }
+
+    public NearCache.Stats getCacheStats() {
+        return cache.stats();
+    }
+}
@@ -1,25 +1,43 @@
 package com.cloudorchestrator.repository;
 
 import com.cloudorchestrator.model.Workflow;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Repository
+@Timed("orchestrator.dynamodb")
 public class WorkflowRepository {
 
+    private final DynamoDbEnhancedClient enhancedClient; // BatchWriteItem
     private final DynamoDbTable<Workflow> workflowTable;
 
-    public WorkflowRepository(DynamoDbEnhancedClient enhancedClient) {
+    // Bean property -> attribute name, where they differ (used for projections)
+    private static final Map<String, String> ATTRIBUTE_NAMES = Map.of("workflowId", "id");
+
+    // Definitions rarely change between runs, so the hot path reads them from memory
+    private final NearCache<Workflow> cache;
+
+    public WorkflowRepository(DynamoDbEnhancedClient enhancedClient,
+                              @Value("${orchestrator.cache.max-size:10000}") int cacheMaxSize,
+                              @Value("${orchestrator.cache.ttl-seconds:300}") long cacheTtlSeconds) {
+        this.enhancedClient = enhancedClient;
         // Mapps the "Workflows" table in AWS to your Workflow.class
         this.workflowTable = enhancedClient.table("Workflow", TableSchema.fromBean(Workflow.class));
+        this.cache = new NearCache<>("workflow", cacheMaxSize, Duration.ofSeconds(cacheTtlSeconds),
+                Workflow::getUpdatedAt);
     }
 
     // Save (Create or Update)
@@ -28,12 +46,49 @@ public class WorkflowRepository {
             workflow.setWorkflowId(UUID.randomUUID().toString()); // Generate ID if new
         }
         workflowTable.putItem(workflow);
+        cache.invalidate(workflow.getWorkflowId()); // our own write always replaces the cached copy
+        cache.put(workflow.getWorkflowId(), workflow);
         return workflow;
     }
 
-    // Find One by ID
+    /**
+     * Writes many workflows with BatchWriteItem (25 per call), retrying unprocessed items.
+     * Workflow ids must be unique within the list.
+     *
+     * @return ids of the workflows that could not be written, with the reason
+     */
+    public Map<String, String> saveAll(List<Workflow> workflows) {
+        for (Workflow workflow : workflows) {
+            if (workflow.getWorkflowId() == null || workflow.getWorkflowId().isEmpty()) {
+                workflow.setWorkflowId(UUID.randomUUID().toString());
+            }
+        }
+        Map<String, String> failed = BatchWrites.putAll(enhancedClient, workflowTable, Workflow.class, workflows,
+                Workflow::getWorkflowId);
+
+        for (Workflow workflow : workflows) {
+            cache.invalidate(workflow.getWorkflowId());
+            if (!failed.containsKey(workflow.getWorkflowId())) cache.put(workflow.getWorkflowId(), workflow);
+        }
+        return failed;
+    }
+
+    // Find One by ID (read-through near cache)
     public Workflow findById(String workflowId) {
-        return workflowTable.getItem(Key.builder().partitionValue(workflowId).build());
+        Workflow cached = cache.get(workflowId);
+        if (cached != null) return cached;
+
+        Workflow workflow = workflowTable.getItem(Key.builder().partitionValue(workflowId).build());
+        cache.put(workflowId, workflow);
+        return workflow;
+    }
+
+    // Straight from the table, for changes made through other nodes; the near cache is refreshed with it
+    public Workflow findByIdUncached(String workflowId) {
+        Workflow workflow = workflowTable.getItem(Key.builder().partitionValue(workflowId).build());
+        cache.invalidate(workflowId);
+        if (workflow != null) cache.put(workflowId, workflow);
+        return workflow;
     }
 
     // Find All (Scan - fine for small apps, use carefully in production)
@@ -44,8 +99,24 @@ public class WorkflowRepository {
         return workflows;
     }
 
+    // One page of at most "limit" workflows, optionally projected to a few fields
+    public Page<Workflow> findPage(int limit, String cursor, Collection<String> fields) {
+        return Scans.firstPage(workflowTable, Scans.request(limit, cursor, fields, ATTRIBUTE_NAMES, "id"));
+    }
+
+    // Whole table as a lazy iterator: DynamoDB pages are fetched as the caller advances,
+    // so memory stays at one page whatever the table size
+    public Iterator<Workflow> scanAll(Collection<String> fields) {
+        return workflowTable.scan(Scans.request(null, null, fields, ATTRIBUTE_NAMES, "id")).items().iterator();
+    }
+
     // Delete
     public void delete(String workflowId) {
         workflowTable.deleteItem(Key.builder().partitionValue(workflowId).build());
+        cache.invalidate(workflowId);
+    }
+
+    public NearCache.Stats getCacheStats() {
+        return cache.stats();
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.cloudorchestrator.service;
+
+// Invalid client input (a tampered cursor, an unknown field, a cyclic workflow, ...); the API answers it with 400.
+// Other IllegalArgumentExceptions are bugs or server-side misconfiguration and stay 500
+public class BadRequestException extends IllegalArgumentException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
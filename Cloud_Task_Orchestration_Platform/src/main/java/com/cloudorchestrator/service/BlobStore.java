@@ -0,0 +1,25 @@
+package com.cloudorchestrator.service;
+
+/**
+ * Storage for task results too large to pass inline between tasks.
+ *
+ * Implementations return a reference URI that the workflow context and execution log keep instead of the content.
+ * In-process tasks (JAVA, PROCESS, MAP) get the content, read back by the orchestrator from whichever node runs
+ * or resumes the job. Lambda tasks get the reference when the store {@link #isReadableByTasks() is readable by
+ * them}, so their payloads stay small; otherwise the content. Implementations are responsible for retention.
+ * The default is {@link FileSystemBlobStore}; orchestrator.blob-store.type=s3 selects {@link S3BlobStore}, or
+ * declare another BlobStore bean to replace it.
+ */
+public interface BlobStore {
+
+    /** Stores the content under the key and returns a reference URI to it. */
+    String put(String key, byte[] content);
+
+    /** Reads back content previously stored under the reference. */
+    byte[] get(String reference);
+
+    /** True if Lambda functions can read the references themselves (e.g. s3:// URIs with the right role). */
+    default boolean isReadableByTasks() {
+        return false;
+    }
+}
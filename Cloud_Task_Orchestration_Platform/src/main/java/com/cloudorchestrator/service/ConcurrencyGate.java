@@ -0,0 +1,87 @@
+package com.cloudorchestrator.service;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+// At most "limit" asynchronous calls in flight; later calls wait in FIFO order without holding a thread.
+// A call holds its slot until its own future completes: a caller that gives up (e.g. orTimeout) does not free it,
+// since the work it started (a Lambda invocation, a JAVA function) goes on regardless
+final class ConcurrencyGate {
+
+    // Starts waiting calls, not the thread that completed the previous one (an SDK event loop, and with calls that
+    // complete at once a recursion as deep as the queue)
+    private static final Executor DISPATCHER = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final int limit;
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+    private int inFlight;
+
+    ConcurrencyGate(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            if (result.isDone()) { // timed out or cancelled before its turn
+                release();
+                return;
+            }
+            CompletableFuture<T> inFlight = call(call);
+            inFlight.whenComplete((value, error) -> {
+                release();
+                if (error != null) result.completeExceptionally(error);
+                else result.complete(value);
+            });
+        };
+        run(start);
+        result.whenComplete((value, error) -> {
+            if (error != null) drop(start);
+        });
+        return result;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    private void run(Runnable start) {
+        synchronized (this) {
+            if (inFlight >= limit) {
+                waiting.add(start);
+                return;
+            }
+            inFlight++;
+        }
+        start.run();
+    }
+
+    private static <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private synchronized void drop(Runnable start) {
+        waiting.remove(start);
+    }
+
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            // The slot passes straight to the next waiting call
+        }
+        DISPATCHER.execute(next);
+    }
+}
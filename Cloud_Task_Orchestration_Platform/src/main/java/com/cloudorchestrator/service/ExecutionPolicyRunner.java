@@ -0,0 +1,190 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.ExecutionPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Applies a task's {@link ExecutionPolicy} to an asynchronous call: a timeout per attempt, retries with
+ * exponential backoff and full jitter, and optional hedging (a duplicate call when the first one is slower
+ * than a fixed delay or the observed p95). The first successful response wins.
+ *
+ * Nothing blocks: waits use {@link CompletableFuture#delayedExecutor} and {@link CompletableFuture#orTimeout}.
+ * Losing or timed-out calls are not cancelled on the Lambda side; their results are ignored.
+ */
+@Component
+public class ExecutionPolicyRunner {
+
+    /** Result of running a call under a policy; {@code error} is set when every attempt failed. */
+    public record Outcome<T>(T value, Throwable error, int attempts, int retries, boolean hedged, int timeouts) {
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    private static final int MIN_SAMPLES_FOR_P95 = 20;
+
+    private final long defaultTimeoutMs;
+    private final int defaultMaxRetries;
+    private final long defaultBackoffBaseMs;
+    private final long defaultBackoffMaxMs;
+
+    // Recent successful latencies per call key (function name), for p95 hedging
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    public ExecutionPolicyRunner(@Value("${orchestrator.execution.timeout-ms:900000}") long defaultTimeoutMs,
+                                 @Value("${orchestrator.execution.max-retries:0}") int defaultMaxRetries,
+                                 @Value("${orchestrator.execution.backoff-base-ms:200}") long defaultBackoffBaseMs,
+                                 @Value("${orchestrator.execution.backoff-max-ms:10000}") long defaultBackoffMaxMs) {
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.defaultMaxRetries = defaultMaxRetries;
+        this.defaultBackoffBaseMs = defaultBackoffBaseMs;
+        this.defaultBackoffMaxMs = defaultBackoffMaxMs;
+    }
+
+    /** Never completes exceptionally: failures are reported in the {@link Outcome}. */
+    public <T> CompletableFuture<Outcome<T>> run(String key, ExecutionPolicy policy, Supplier<CompletableFuture<T>> call) {
+        Run<T> run = new Run<>(key, policy != null ? policy : new ExecutionPolicy(), call);
+        run.attempt(0);
+        return run.outcome;
+    }
+
+    public long getP95Millis(String key) {
+        LatencyWindow window = latencies.get(key);
+        return window == null ? -1 : window.p95();
+    }
+
+    private final class Run<T> {
+        private final String key;
+        private final Supplier<CompletableFuture<T>> call;
+        private final long timeoutMs;
+        private final int maxRetries;
+        private final long backoffBaseMs;
+        private final long backoffMaxMs;
+        private final ExecutionPolicy policy;
+
+        private final CompletableFuture<Outcome<T>> outcome = new CompletableFuture<>();
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final AtomicInteger timeouts = new AtomicInteger();
+        private volatile boolean hedged;
+
+        Run(String key, ExecutionPolicy policy, Supplier<CompletableFuture<T>> call) {
+            this.key = key;
+            this.call = call;
+            this.policy = policy;
+            this.timeoutMs = Math.max(1, valueOr(policy.getTimeoutMs(), defaultTimeoutMs));
+            this.maxRetries = Math.max(0, valueOr(policy.getMaxRetries(), defaultMaxRetries));
+            this.backoffBaseMs = Math.max(0, valueOr(policy.getBackoffBaseMs(), defaultBackoffBaseMs));
+            this.backoffMaxMs = Math.max(backoffBaseMs, valueOr(policy.getBackoffMaxMs(), defaultBackoffMaxMs));
+        }
+
+        void attempt(int retry) {
+            CompletableFuture<T> winner = new CompletableFuture<>();
+            AtomicInteger pending = new AtomicInteger(1);
+
+            launch(winner, pending);
+
+            long hedgeDelay = hedgeDelayMs();
+            if (hedgeDelay >= 0 && hedgeDelay < timeoutMs) {
+                CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.MILLISECONDS).execute(() -> {
+                    if (winner.isDone()) return;
+                    pending.incrementAndGet();
+                    hedged = true;
+                    launch(winner, pending);
+                });
+            }
+
+            winner.whenComplete((value, error) -> {
+                if (error == null) {
+                    outcome.complete(new Outcome<>(value, null, attempts.get(), retry, hedged, timeouts.get()));
+                } else if (retry < maxRetries) {
+                    long delay = backoff(retry);
+                    CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> attempt(retry + 1));
+                } else {
+                    outcome.complete(new Outcome<>(null, describe(error), attempts.get(), retry, hedged, timeouts.get()));
+                }
+            });
+        }
+
+        // One invocation; the first success completes the attempt, the last failure fails it
+        private void launch(CompletableFuture<T> winner, AtomicInteger pending) {
+            attempts.incrementAndGet();
+            long startedAt = System.nanoTime();
+
+            CompletableFuture<T> invocation;
+            try {
+                invocation = call.get();
+            } catch (RuntimeException e) {
+                invocation = CompletableFuture.failedFuture(e);
+            }
+            invocation.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+                if (error == null) {
+                    latencies.computeIfAbsent(key, k -> new LatencyWindow())
+                            .record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                    winner.complete(value);
+                    return;
+                }
+                if (unwrap(error) instanceof TimeoutException) timeouts.incrementAndGet();
+                if (pending.decrementAndGet() == 0) winner.completeExceptionally(error);
+            });
+        }
+
+        private long hedgeDelayMs() {
+            if (policy.getHedgeDelayMs() != null) return policy.getHedgeDelayMs();
+            if (Boolean.TRUE.equals(policy.getHedgeAtP95())) return getP95Millis(key);
+            return -1;
+        }
+
+        // Full jitter: uniform in [0, min(max, base * 2^retry)]
+        private long backoff(int retry) {
+            long ceiling = Math.min(backoffMaxMs, backoffBaseMs << Math.min(retry, 30));
+            return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+        }
+
+        private Throwable describe(Throwable error) {
+            Throwable cause = unwrap(error);
+            if (cause instanceof TimeoutException) {
+                return new TaskExecutionException("Timed out after " + timeoutMs + " ms", cause);
+            }
+            return cause;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static long valueOr(Long value, long fallback) {
+        return value != null ? value : fallback;
+    }
+
+    private static int valueOr(Integer value, int fallback) {
+        return value != null ? value : fallback;
+    }
+
+    // Ring buffer of the last successful latencies
+    private static final class LatencyWindow {
+        private final long[] samples = new long[128];
+        private int count;
+        private int next;
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized long p95() {
+            if (count < MIN_SAMPLES_FOR_P95) return -1;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(count * 0.95) - 1];
+        }
+    }
+}
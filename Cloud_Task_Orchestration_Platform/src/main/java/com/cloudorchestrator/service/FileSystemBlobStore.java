@@ -0,0 +1,93 @@
+package com.cloudorchestrator.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Default BlobStore: one file per blob under a base directory, referenced by file:// URI.
+ *
+ * Lambda functions cannot read these files, so they get the content. The orchestrator reads blobs back from every
+ * node that may run or resume the job: with several nodes, point orchestrator.blob-store.path at a shared
+ * directory or use {@link S3BlobStore}.
+ * Blobs older than the retention are deleted by a periodic sweep; keep it longer than failed jobs may be resumed.
+ */
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemBlobStore.class);
+
+    private final Path baseDir;
+    private final Duration retention;
+
+    public FileSystemBlobStore(Path baseDir, Duration retention) {
+        this.baseDir = baseDir.toAbsolutePath().normalize();
+        this.retention = retention;
+    }
+
+    @Override
+    public String put(String key, byte[] content) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Files.write(target, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store blob " + key, e);
+        }
+        return target.toUri().toString();
+    }
+
+    @Override
+    public byte[] get(String reference) {
+        Path source = Path.of(URI.create(reference)).normalize();
+        if (!source.startsWith(baseDir)) {
+            throw new IllegalArgumentException("Blob reference outside of the blob store: " + reference);
+        }
+        try {
+            return Files.readAllBytes(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read blob " + reference, e);
+        }
+    }
+
+    /** Deletes blobs last written before the retention window; returns how many. */
+    @Scheduled(fixedDelayString = "${orchestrator.blob-store.sweep-interval-ms:3600000}")
+    public int sweep() {
+        if (!Files.isDirectory(baseDir)) return 0;
+
+        Instant cutoff = Instant.now().minus(retention);
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(baseDir)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                        Files.delete(file);
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    logger.warn("Could not delete blob file={} error={}", file, e.getMessage());
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Blob sweep failed dir={} error={}", baseDir, e.getMessage());
+        }
+        if (deleted > 0) logger.info("Blob sweep deleted={}", deleted);
+        return deleted;
+    }
+
+    private Path resolve(String key) {
+        Path target = baseDir.resolve(key).normalize();
+        if (!target.startsWith(baseDir)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,42 @@
+package com.cloudorchestrator.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caps concurrent calls per Lambda function without blocking threads.
+ *
+ * Calls over the cap wait in a per-function queue and are started when a running call completes.
+ * The cap defaults to orchestrator.lambda.max-concurrency-per-function and can be overridden per function
+ * with orchestrator.lambda.max-concurrency.&lt;functionName&gt;.
+ */
+@Component
+public class FunctionConcurrencyLimiter {
+
+    private final Environment environment;
+    private final int defaultLimit;
+    private final Map<String, ConcurrencyGate> gates = new ConcurrentHashMap<>();
+
+    public FunctionConcurrencyLimiter(Environment environment,
+                                      @Value("${orchestrator.lambda.max-concurrency-per-function:100}") int defaultLimit) {
+        this.environment = environment;
+        this.defaultLimit = defaultLimit;
+    }
+
+    public <T> CompletableFuture<T> submit(String functionName, Supplier<CompletableFuture<T>> call) {
+        return gates.computeIfAbsent(functionName, name -> new ConcurrencyGate(
+                environment.getProperty("orchestrator.lambda.max-concurrency." + name, Integer.class, defaultLimit)))
+                .submit(call);
+    }
+
+    public int getInFlight(String functionName) {
+        ConcurrencyGate gate = gates.get(functionName);
+        return gate == null ? 0 : gate.inFlight();
+    }
+}
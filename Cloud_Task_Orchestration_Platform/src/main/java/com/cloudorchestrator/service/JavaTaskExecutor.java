@@ -0,0 +1,70 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Runs a {@code Function<JsonNode, JsonNode>} bean in-process, for cheap steps (reshaping, filtering, ...)
+ * that do not need a network round trip. Task.handler is the bean name; register a function with e.g.
+ * {@code @Bean("flatten") Function<JsonNode, JsonNode> flatten() { ... }}.
+ *
+ * The function runs on the calling (virtual) thread, so it should be short and must not modify its input.
+ */
+@Component
+public class JavaTaskExecutor implements TaskExecutor {
+
+    public static final String TYPE = "JAVA";
+
+    private static final ResolvableType FUNCTION_TYPE =
+            ResolvableType.forClassWithGenerics(Function.class, JsonNode.class, JsonNode.class);
+
+    private final ListableBeanFactory beanFactory;
+    private final Map<String, Function<JsonNode, JsonNode>> functions = new ConcurrentHashMap<>();
+
+    public JavaTaskExecutor(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void validate(Task task) {
+        function(task);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> execute(Task task, ObjectNode input) {
+        try {
+            return CompletableFuture.completedFuture(function(task).apply(input));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<JsonNode, JsonNode> function(Task task) {
+        String name = task.getHandler();
+        if (name == null) {
+            throw new IllegalArgumentException("JAVA task " + task.getName() + " needs a handler (function bean name)");
+        }
+        return functions.computeIfAbsent(name, key -> {
+            if (!Arrays.asList(beanFactory.getBeanNamesForType(FUNCTION_TYPE)).contains(key)) {
+                throw new IllegalArgumentException("No Function<JsonNode, JsonNode> bean named " + key);
+            }
+            return (Function<JsonNode, JsonNode>) beanFactory.getBean(key);
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.cloudorchestrator.service;
+
+import java.time.Instant;
+
+/**
+ * Progress of a job as published on the {@link JobEventBus}.
+ *
+ * @param id        position in the bus, increasing; clients resume from it with Last-Event-ID
+ * @param type      JOB_STARTED, TASK_STARTED, TASK_FINISHED or JOB_FINISHED
+ * @param taskId    null for job events
+ * @param status    job status for job events, SUCCESS / FAILED for TASK_FINISHED
+ * @param message   error message of a failed task or job
+ */
+public record JobEvent(long id, String type, String jobId, String workflowId, String taskId, String taskName,
+                       String status, String message, int tasksCompleted, int tasksFailed, int tasksTotal,
+                       Instant timestamp) {
+
+    public static final String JOB_STARTED = "JOB_STARTED";
+    public static final String TASK_STARTED = "TASK_STARTED";
+    public static final String TASK_FINISHED = "TASK_FINISHED";
+    public static final String JOB_FINISHED = "JOB_FINISHED";
+}
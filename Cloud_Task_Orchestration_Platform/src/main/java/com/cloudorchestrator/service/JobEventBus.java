@@ -0,0 +1,143 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.JobHistory;
+import com.cloudorchestrator.model.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process fan-out of {@link JobEvent}s to live subscribers (the SSE streams of JobController).
+ *
+ * The last orchestrator.events.history-size events are kept in a ring buffer, so a client that reconnects with
+ * Last-Event-ID gets what it missed. That replay is written straight to the sink; only live events go through the
+ * subscriber's bounded queue, so a long replay cannot overflow it. Publishing never blocks: each queue is drained by
+ * its own virtual thread. A subscriber whose queue overflows is disconnected; it resumes from its last event id.
+ */
+@Component
+public class JobEventBus {
+
+    /** Where a subscription delivers its events, e.g. an SSE stream. */
+    public interface Sink {
+        /** @return false to end the subscription after this event */
+        boolean send(JobEvent event) throws IOException;
+
+        void close();
+    }
+
+    private final JobEvent[] history;
+    private final int subscriberBuffer;
+    private final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this: ids are handed out, stored and fanned out in one step, so replay and live never overlap
+    private long nextId = 1;
+
+    public JobEventBus(@Value("${orchestrator.events.history-size:10000}") int historySize,
+                       @Value("${orchestrator.events.subscriber-buffer:1024}") int subscriberBuffer) {
+        this.history = new JobEvent[historySize];
+        this.subscriberBuffer = subscriberBuffer;
+    }
+
+    public void publish(String type, JobHistory job, Task task, String status, String message) {
+        synchronized (this) {
+            JobEvent event = new JobEvent(nextId++, type, job.getJobId(), job.getWorkflowId(),
+                    task != null ? task.getTaskId() : null, task != null ? task.getName() : null,
+                    status, message, job.getTasksCompleted(), job.getTasksFailed(), job.getTasksTotal(), Instant.now());
+            history[(int) (event.id() % history.length)] = event;
+            for (Subscription subscription : subscribers) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Streams events to the sink until it ends the subscription, fails, falls too far behind or is cancelled.
+     *
+     * @param jobId       only this job's events, or null for every job
+     * @param lastEventId resume after this id (what the client last received); null for live events only,
+     *                    except that a single job's stream then starts from that job's latest JOB_STARTED
+     */
+    public Subscription subscribe(String jobId, Long lastEventId, Sink sink) {
+        Subscription subscription;
+        synchronized (this) {
+            subscription = new Subscription(jobId, sink, replay(jobId, lastEventId));
+            subscribers.add(subscription);
+        }
+        Thread.ofVirtual().name("job-events-" + (jobId != null ? jobId : "all")).start(subscription::deliver);
+        return subscription;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Caller holds the lock
+    private List<JobEvent> replay(String jobId, Long lastEventId) {
+        List<JobEvent> events = new ArrayList<>();
+        if (lastEventId == null && jobId == null) return events;
+
+        long from = Math.max(nextId - history.length, lastEventId != null ? lastEventId + 1 : 1);
+        for (long id = from; id < nextId; id++) {
+            JobEvent event = history[(int) (id % history.length)];
+            if (jobId != null && !jobId.equals(event.jobId())) continue;
+            // A resumed job has an earlier run in the buffer; a new client only wants the current one
+            if (lastEventId == null && JobEvent.JOB_STARTED.equals(event.type())) events.clear();
+            events.add(event);
+        }
+        return events;
+    }
+
+    public final class Subscription {
+        private final String jobId;
+        private final Sink sink;
+        private final List<JobEvent> replay;
+        private final BlockingQueue<JobEvent> queue = new ArrayBlockingQueue<>(subscriberBuffer);
+        private volatile boolean closed;
+
+        private Subscription(String jobId, Sink sink, List<JobEvent> replay) {
+            this.jobId = jobId;
+            this.sink = sink;
+            this.replay = replay;
+        }
+
+        public void cancel() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        private void offer(JobEvent event) {
+            if (jobId != null && !jobId.equals(event.jobId())) return;
+            if (!queue.offer(event)) cancel(); // too slow: disconnect rather than hold back the publisher
+        }
+
+        private void deliver() {
+            try {
+                // Everything up to the subscription first, then what was published meanwhile
+                for (int i = 0; i < replay.size() && !closed; i++) {
+                    if (!sink.send(replay.get(i))) return;
+                }
+                replay.clear();
+                while (!closed) {
+                    JobEvent event = queue.poll(1, TimeUnit.SECONDS);
+                    if (event != null && !sink.send(event)) break;
+                }
+            } catch (IOException | RuntimeException e) {
+                // Client went away or its stream was already closed
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                cancel();
+                sink.close();
+            }
+        }
+    }
+}
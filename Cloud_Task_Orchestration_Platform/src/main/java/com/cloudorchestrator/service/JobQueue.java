@@ -0,0 +1,169 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.JobHistory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Bounded in-process queue in front of {@link WorkflowOrchestrator}.
+ *
+ * Callers get a jobId immediately; a fixed pool of workers drains the queue. Workers are shared between
+ * tenants (workflow owners) by weighted fair queueing, within each tenant's limits, and interactive runs
+ * are preferred over scheduled ones (see {@link TenantFairQueue}, {@link TenantQuotas}).
+ * When the queue, or the tenant's share of it, is full, {@link #submit} throws {@link RejectedExecutionException}
+ * instead of blocking the caller.
+ *
+ * Time spent queued is timed per tenant and class as orchestrator.jobs.queue.wait{tenant, priority}.
+ */
+@Service
+public class JobQueue {
+
+    /** Runs started by a user (API, resume) and by the scheduler. */
+    public enum Priority { INTERACTIVE, SCHEDULED }
+
+    private static final Logger logger = LoggerFactory.getLogger(JobQueue.class);
+
+    private final WorkflowOrchestrator orchestrator;
+    private final TenantFairQueue<Runnable> queue;
+    private final MeterRegistry meterRegistry;
+
+    // Jobs accepted but not finished yet (QUEUED or RUNNING), so their status can be read without DynamoDB
+    private final Map<String, JobHistory> activeJobs = new ConcurrentHashMap<>();
+
+    public JobQueue(WorkflowOrchestrator orchestrator,
+                    @Value("${orchestrator.queue.workers:8}") int workerCount,
+                    @Value("${orchestrator.queue.capacity:500}") int capacity,
+                    TenantQuotas quotas,
+                    @Value("${orchestrator.queue.interactive-weight:4}") int interactiveWeight,
+                    @Value("${orchestrator.queue.scheduled-weight:1}") int scheduledWeight,
+                    MeterRegistry meterRegistry) {
+        this.orchestrator = orchestrator;
+        this.queue = new TenantFairQueue<>(quotas, capacity, interactiveWeight, scheduledWeight);
+        this.meterRegistry = meterRegistry;
+
+        for (int i = 1; i <= workerCount; i++) {
+            Thread.ofPlatform().name("job-worker-" + i).start(this::work);
+        }
+
+        Gauge.builder("orchestrator.jobs.active", activeJobs, Map::size)
+                .description("Jobs accepted and not finished yet (queued or running)")
+                .register(meterRegistry);
+        Gauge.builder("orchestrator.jobs.queued", queue, TenantFairQueue::size)
+                .description("Jobs waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a run of the workflow.
+     *
+     * @param ownerId the workflow's owner (tenant), may be null
+     * @return the queued job (status QUEUED, jobId assigned)
+     * @throws RejectedExecutionException if the queue or the tenant's share of it is full
+     */
+    public JobHistory submit(String workflowId, String ownerId, Priority priority) {
+        JobHistory job = new JobHistory();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setWorkflowId(workflowId);
+        job.setOwnerId(ownerId);
+        job.setPriority(priority.name());
+        job.setStatus("QUEUED");
+        job.setStartTime(Instant.now());
+
+        enqueue(job, priority, () -> orchestrator.runJob(job));
+        return job;
+    }
+
+    /**
+     * Queues a failed job to continue from its checkpoints (tasks that already succeeded are not run again).
+     * Resuming is a user action, so the job is queued as interactive.
+     *
+     * @return the queued job, same jobId
+     * @throws IllegalStateException      if the job is still queued or running here
+     * @throws RejectedExecutionException if the queue or the tenant's share of it is full
+     */
+    public JobHistory resume(JobHistory job) {
+        job.setStatus("QUEUED");
+        job.setErrorMessage(null);
+        job.setEndTime(null);
+        job.setResumeCount(job.getResumeCount() + 1);
+        job.setPriority(Priority.INTERACTIVE.name());
+
+        enqueue(job, Priority.INTERACTIVE, () -> orchestrator.resumeJob(job));
+        return job;
+    }
+
+    private void enqueue(JobHistory job, Priority priority, Runnable run) {
+        if (activeJobs.putIfAbsent(job.getJobId(), job) != null) {
+            throw new IllegalStateException("Job " + job.getJobId() + " is already queued or running");
+        }
+        Runnable task = () -> {
+            try {
+                run.run();
+            } finally {
+                activeJobs.remove(job.getJobId());
+            }
+        };
+        if (!queue.offer(TenantQuotas.tenantOf(job.getOwnerId()), priority, task)) {
+            activeJobs.remove(job.getJobId());
+            throw new RejectedExecutionException("Job queue is full for tenant " + TenantQuotas.tenantOf(job.getOwnerId()));
+        }
+    }
+
+    private void work() {
+        while (true) {
+            TenantFairQueue.Entry<Runnable> entry;
+            try {
+                entry = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (entry == null) return; // shut down and drained
+
+            Timer.builder("orchestrator.jobs.queue.wait")
+                    .description("Time a job waited in the queue for a worker")
+                    .tag("tenant", entry.tenant())
+                    .tag("priority", entry.priority().name())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - entry.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+            try {
+                entry.item().run();
+            } catch (RuntimeException e) {
+                logger.error("Job worker failed tenant={} error={}", entry.tenant(), e.getMessage(), e);
+            } finally {
+                queue.done(entry.tenant());
+            }
+        }
+    }
+
+    /** Returns a snapshot of a queued or running job, or null once it has finished. */
+    public JobHistory getActiveJob(String jobId) {
+        JobHistory job = activeJobs.get(jobId);
+        if (job == null) return null;
+
+        // The orchestrator keeps mutating the job, so hand out a copy taken under its lock
+        synchronized (job) {
+            return job.copy();
+        }
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    // Queued jobs still run; new ones are refused
+    @PreDestroy
+    public void shutdown() {
+        queue.close();
+    }
+}
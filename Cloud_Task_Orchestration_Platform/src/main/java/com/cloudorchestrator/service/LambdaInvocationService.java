@@ -1,37 +1,90 @@
 package com.cloudorchestrator.service;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.SdkBytes;
-import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
 import software.amazon.awssdk.services.lambda.model.InvokeRequest;
 import software.amazon.awssdk.services.lambda.model.InvokeResponse;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class LambdaInvocationService {
 
-    private final LambdaClient lambdaClient;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LambdaAsyncClient lambdaClient;
+    private final FunctionConcurrencyLimiter limiter;
+    private final MeterRegistry meterRegistry;
 
-    // We inject the configured client from Step 1 here
-    public LambdaInvocationService(LambdaClient lambdaClient) {
+    // We inject the configured async client from DynamoDbConfig here
+    public LambdaInvocationService(LambdaAsyncClient lambdaClient, FunctionConcurrencyLimiter limiter,
+                                   MeterRegistry meterRegistry) {
         this.lambdaClient = lambdaClient;
+        this.limiter = limiter;
+        this.meterRegistry = meterRegistry;
     }
 
-    public String invokeFunction(String functionName, String jsonPayload) {
-        try {
-            SdkBytes payload = SdkBytes.fromUtf8String(jsonPayload);
+    /**
+     * Invokes the function without holding a thread while it runs.
+     * Calls above the function's concurrency cap are queued by {@link FunctionConcurrencyLimiter}.
+     *
+     * The response is parsed once, straight from the SDK's buffer, into a JSON tree; responses that are
+     * not JSON come back as a text node.
+     *
+     * Fails with {@link TaskExecutionException} when the function itself errored, or with the SDK exception
+     * when it could not be invoked (throttled, unreachable, ...). Retries are up to the caller
+     * (see {@link ExecutionPolicyRunner}).
+     *
+     * Each call is timed as orchestrator.lambda.invocation{function, outcome}, from the moment it is allowed
+     * to start (time spent queued behind the concurrency cap is not included).
+     */
+    public CompletableFuture<JsonNode> invokeFunctionAsync(String functionName, SdkBytes payload) {
+        InvokeRequest request = InvokeRequest.builder()
+                .functionName(functionName)
+                .payload(payload)
+                .build();
 
-            InvokeRequest request = InvokeRequest.builder()
-                    .functionName(functionName)
-                    .payload(payload)
-                    .build();
+        return limiter.submit(functionName, () -> timed(functionName, lambdaClient.invoke(request)))
+                .thenApply(response -> {
+                    JsonNode result = parse(response.payload());
+                    if (response.functionError() != null) {
+                        // Unhandled/Handled: the payload is {"errorType": ..., "errorMessage": ...}
+                        throw new TaskExecutionException("Function " + functionName + " failed ("
+                                + response.functionError() + "): " + result.path("errorMessage").asText(result.toString()));
+                    }
+                    return result;
+                });
+    }
 
-            InvokeResponse response = lambdaClient.invoke(request);
-            return response.payload().asUtf8String();
+    private CompletableFuture<InvokeResponse> timed(String functionName, CompletableFuture<InvokeResponse> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return call.whenComplete((response, error) -> {
+            String outcome = error != null ? "error" : response.functionError() != null ? "function_error" : "success";
+            sample.stop(Timer.builder("orchestrator.lambda.invocation")
+                    .description("Lambda Invoke latency")
+                    .tag("function", functionName)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        });
+    }
+
+    private static JsonNode parse(SdkBytes payload) {
+        if (payload == null) return JsonNodeFactory.instance.nullNode();
 
-        } catch (Exception e) {
-            System.err.println("Error invoking Lambda: " + e.getMessage());
-            return "{\"error\": \"" + e.getMessage() + "\"}";
+        byte[] bytes = payload.asByteArrayUnsafe(); // no copy; the response buffer is not reused afterwards
+        try {
+            JsonNode node = objectMapper.readTree(bytes);
+            return node != null ? node : JsonNodeFactory.instance.nullNode();
+        } catch (IOException e) {
+            return JsonNodeFactory.instance.textNode(payload.asUtf8String());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+// Invokes Task.lambdaFunctionName (or Task.handler) with the input as its event; tasks without a function are no-ops
+@Component
+public class LambdaTaskExecutor implements TaskExecutor {
+
+    public static final String TYPE = "LAMBDA";
+
+    private static final Logger logger = LoggerFactory.getLogger(LambdaTaskExecutor.class);
+
+    private final LambdaInvocationService lambdaService;
+    private final BlobStore blobStore;
+    private final int maxPayloadBytes;
+    private final DistributionSummary payloadSize;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public LambdaTaskExecutor(LambdaInvocationService lambdaService, BlobStore blobStore, MeterRegistry meterRegistry,
+                              @Value("${orchestrator.lambda.max-payload-bytes:6291456}") int maxPayloadBytes) {
+        this.lambdaService = lambdaService;
+        this.blobStore = blobStore;
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.payloadSize = DistributionSummary.builder("orchestrator.task.payload.size")
+                .description("Serialized task input/output size")
+                .baseUnit("bytes")
+                .tag("direction", "request")
+                .tag("type", TYPE)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    // Large upstream results stay references when the function can read the blob store
+    @Override
+    public boolean acceptsBlobReferences() {
+        return blobStore.isReadableByTasks();
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> execute(Task task, ObjectNode input) {
+        String functionName = task.getHandler() != null ? task.getHandler() : task.getLambdaFunctionName();
+        if (functionName == null) {
+            return CompletableFuture.completedFuture(JsonNodeFactory.instance.textNode("No-Op"));
+        }
+
+        SdkBytes payload;
+        try {
+            payload = serialize(input);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new TaskExecutionException("Could not build the payload of " + task.getName(), e));
+        }
+        // Fail here rather than with an opaque 413 from Lambda
+        int payloadBytes = payload.asByteArrayUnsafe().length;
+        if (payloadBytes > maxPayloadBytes) {
+            return CompletableFuture.failedFuture(new TaskExecutionException("Payload of " + task.getName() + " is "
+                    + payloadBytes + " bytes, over the Lambda limit of " + maxPayloadBytes
+                    + "; narrow its inputs or use a blob store Lambda can read (orchestrator.blob-store.type=s3)"));
+        }
+        logger.debug("Invoking function={} task={} payloadBytes={}", functionName, task.getName(), payloadBytes);
+        return lambdaService.invokeFunctionAsync(functionName, payload);
+    }
+
+    // UTF-8 bytes straight from Jackson into the request, without an intermediate String; the array is
+    // fresh and never touched again, so the SDK may wrap it without copying
+    private SdkBytes serialize(Object value) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(value);
+        payloadSize.record(bytes.length);
+        return SdkBytes.fromByteArrayUnsafe(bytes);
+    }
+}
@@ -0,0 +1,313 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.MapConfig;
+import com.cloudorchestrator.model.Task;
+import com.cloudorchestrator.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans a task out over an array of its input (mapConfig.itemsPath; offloaded upstream results are already
+ * resolved by the orchestrator): the task's handler is invoked once per
+ * element, or per chunk of elements, by the executor of mapConfig.itemType, with at most mapConfig.concurrency
+ * invocations in flight and each one under mapConfig.itemPolicy. Results are collected in element order.
+ *
+ * An invocation gets the task's parameters plus "item" and "index"; with chunkSize above 1 it gets "items" and
+ * "offset" instead and must return an array with one result per element. It does not get the context, which
+ * would repeat the whole array in every call.
+ *
+ * The output is {"items": [...], "failures": [{"index": i, "error": "..."}]} with null for failed elements, or,
+ * when mapConfig.reduceTaskId is set, the output of that task, which receives the same object plus the context.
+ * Once more elements have failed than tolerated, no further invocation starts and the task fails.
+ *
+ * The task's own execution policy bounds the whole fan-out: a retry of the MAP task re-runs every element.
+ * Each element call (and the reduce call) counts against the tenant's max-invocations, the MAP task itself does not.
+ */
+@Component
+public class MapTaskExecutor implements TaskExecutor {
+
+    public static final String TYPE = "MAP";
+
+    private final TaskExecutorRegistry executors;
+    private final TaskRepository taskRepository;
+    private final ExecutionPolicyRunner policyRunner;
+    private final TenantQuotas tenantQuotas;
+    private final int defaultConcurrency;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Collects results and starts the next invocation off the SDK event loop
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    // The registry holds this executor as well, hence the lazy reference
+    public MapTaskExecutor(@Lazy TaskExecutorRegistry executors, TaskRepository taskRepository,
+                           ExecutionPolicyRunner policyRunner, TenantQuotas tenantQuotas,
+                           @Value("${orchestrator.executors.map.concurrency:10}") int defaultConcurrency) {
+        this.executors = executors;
+        this.taskRepository = taskRepository;
+        this.policyRunner = policyRunner;
+        this.tenantQuotas = tenantQuotas;
+        this.defaultConcurrency = defaultConcurrency;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void validate(Task task) {
+        MapConfig config = task.getMapConfig();
+        if (config == null || config.getItemsPath() == null || !config.getItemsPath().startsWith("/")) {
+            throw new IllegalArgumentException("MAP task " + task.getName()
+                    + " needs mapConfig.itemsPath, a JSON pointer such as /context/<task name>/items");
+        }
+        if (config.getConcurrency() != null && config.getConcurrency() < 1
+                || config.getChunkSize() != null && config.getChunkSize() < 1) {
+            throw new IllegalArgumentException("MAP task " + task.getName() + ": concurrency and chunkSize must be at least 1");
+        }
+
+        Task itemTask = itemTask(task);
+        TaskExecutor itemExecutor = executors.get(itemTask);
+        if (TYPE.equals(itemExecutor.type())) {
+            throw new IllegalArgumentException("MAP task " + task.getName() + " cannot map over MAP tasks");
+        }
+        if (LambdaTaskExecutor.TYPE.equals(itemExecutor.type()) && itemTask.getHandler() == null
+                && itemTask.getLambdaFunctionName() == null) {
+            throw new IllegalArgumentException("MAP task " + task.getName() + " needs a function (lambdaFunctionName or handler)");
+        }
+        itemExecutor.validate(itemTask);
+
+        if (config.getReduceTaskId() != null) {
+            Task reduceTask = taskRepository.findById(config.getReduceTaskId());
+            if (reduceTask == null) {
+                throw new IllegalArgumentException("Reduce task " + config.getReduceTaskId() + " of " + task.getName() + " not found");
+            }
+            if (TYPE.equals(executors.get(reduceTask).type())) {
+                throw new IllegalArgumentException("Reduce task " + reduceTask.getName() + " cannot be a MAP task");
+            }
+            executors.validate(reduceTask);
+        }
+    }
+
+    @Override
+    public boolean fansOut() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> execute(Task task, ObjectNode input) {
+        return execute(task, input, TenantQuotas.UNOWNED);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> execute(Task task, ObjectNode input, String tenant) {
+        CompletableFuture<JsonNode> result = new CompletableFuture<>();
+        try {
+            MapConfig config = task.getMapConfig();
+            if (config == null || config.getItemsPath() == null) {
+                throw new IllegalArgumentException("MAP task " + task.getName() + " has no mapConfig.itemsPath");
+            }
+            JsonNode items = input.at(JsonPointer.compile(config.getItemsPath()));
+            if (!items.isArray()) {
+                throw new TaskExecutionException("MAP task " + task.getName() + ": " + config.getItemsPath()
+                        + " is not an array in its input");
+            }
+            new Run(task, tenant, input, items, result).start();
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    // The invocation of one element: the MAP task's handler, run by the executor of mapConfig.itemType
+    private static Task itemTask(Task task) {
+        Task itemTask = new Task();
+        itemTask.setTaskId(task.getTaskId());
+        itemTask.setName(task.getName());
+        itemTask.setType(task.getMapConfig().getItemType());
+        itemTask.setHandler(task.getHandler());
+        itemTask.setLambdaFunctionName(task.getLambdaFunctionName());
+        return itemTask;
+    }
+
+    // Same key as the orchestrator uses, so element calls share the function's latency window (p95 hedging)
+    private static String callKey(TaskExecutor executor, Task task) {
+        return executor.type() + ":" + (task.getHandler() != null ? task.getHandler() : task.getLambdaFunctionName());
+    }
+
+    // One execution of a MAP task
+    private final class Run {
+        private final Task task;
+        private final String tenant;
+        private final MapConfig config;
+        private final Task itemTask;
+        private final TaskExecutor itemExecutor;
+        private final String callKey;
+        private final ObjectNode input;
+        private final ObjectNode parameters;
+        private final JsonNode items;
+        private final CompletableFuture<JsonNode> result;
+
+        private final int chunkSize;
+        private final int chunkCount;
+        private final JsonNode[] results;
+        private final String[] errors;
+        private final AtomicInteger nextChunk = new AtomicInteger();
+        private final AtomicInteger remainingChunks;
+        private final AtomicInteger failed = new AtomicInteger();
+
+        Run(Task task, String tenant, ObjectNode input, JsonNode items, CompletableFuture<JsonNode> result) {
+            this.task = task;
+            this.tenant = tenant;
+            this.config = task.getMapConfig();
+            this.itemTask = itemTask(task);
+            this.itemExecutor = executors.get(itemTask);
+            this.callKey = callKey(itemExecutor, itemTask);
+            this.input = input;
+            this.items = items;
+            this.result = result;
+
+            this.parameters = JsonNodeFactory.instance.objectNode();
+            input.fields().forEachRemaining(field -> {
+                if (!field.getKey().equals("context")) parameters.set(field.getKey(), field.getValue());
+            });
+
+            this.chunkSize = config.getChunkSize() != null ? Math.max(1, config.getChunkSize()) : 1;
+            this.chunkCount = (items.size() + chunkSize - 1) / chunkSize;
+            this.results = new JsonNode[items.size()];
+            this.errors = new String[items.size()];
+            this.remainingChunks = new AtomicInteger(chunkCount);
+        }
+
+        void start() {
+            if (chunkCount == 0) {
+                finish();
+                return;
+            }
+            int concurrency = config.getConcurrency() != null ? Math.max(1, config.getConcurrency()) : defaultConcurrency;
+            for (int i = 0; i < Math.min(concurrency, chunkCount); i++) {
+                next();
+            }
+        }
+
+        // Each of the "concurrency" slots runs one chunk after the other until none is left
+        private void next() {
+            int chunk = nextChunk.getAndIncrement();
+            // Done early: over the failure threshold, or timed out / abandoned by the caller
+            if (chunk >= chunkCount || result.isDone()) return;
+
+            int from = chunk * chunkSize;
+            int to = Math.min(from + chunkSize, items.size());
+            ObjectNode payload = parameters.deepCopy();
+            if (chunkSize == 1) {
+                payload.set("item", items.get(from));
+                payload.put("index", from);
+            } else {
+                ArrayNode chunkItems = payload.putArray("items");
+                for (int i = from; i < to; i++) chunkItems.add(items.get(i));
+                payload.put("offset", from);
+            }
+
+            policyRunner.run(callKey, config.getItemPolicy(),
+                            () -> tenantQuotas.invoke(tenant, () -> itemExecutor.execute(itemTask, payload, tenant)))
+                    .thenAcceptAsync(outcome -> {
+                        try {
+                            collect(from, to, outcome);
+                            if (remainingChunks.decrementAndGet() == 0) finish();
+                            else next();
+                        } catch (RuntimeException e) {
+                            result.completeExceptionally(e);
+                        }
+                    }, dispatcher);
+        }
+
+        private void collect(int from, int to, ExecutionPolicyRunner.Outcome<JsonNode> outcome) {
+            JsonNode value = outcome.value();
+            String error = outcome.succeeded() ? null : String.valueOf(outcome.error().getMessage());
+            if (error == null && chunkSize > 1 && (!value.isArray() || value.size() != to - from)) {
+                error = "Expected an array of " + (to - from) + " results for items " + from + ".." + (to - 1);
+            }
+
+            for (int i = from; i < to; i++) {
+                if (error == null) results[i] = chunkSize > 1 ? value.get(i - from) : value;
+                else errors[i] = error;
+            }
+            if (error != null) {
+                int failedSoFar = failed.addAndGet(to - from);
+                if (!tolerated(failedSoFar)) {
+                    result.completeExceptionally(new TaskExecutionException("MAP task " + task.getName() + ": "
+                            + failedSoFar + " of " + items.size() + " elements failed, last error: " + error));
+                }
+            }
+        }
+
+        private boolean tolerated(int failedItems) {
+            if (failedItems == 0) return true;
+            Integer maxItems = config.getMaxFailedItems();
+            Double maxPercent = config.getMaxFailedPercent();
+            if (maxItems == null && maxPercent == null) return false;
+            return (maxItems == null || failedItems <= maxItems)
+                    && (maxPercent == null || failedItems * 100.0 <= maxPercent * items.size());
+        }
+
+        private void finish() {
+            if (result.isDone()) return;
+
+            ObjectNode output = JsonNodeFactory.instance.objectNode();
+            ArrayNode outputItems = output.putArray("items");
+            ArrayNode failures = output.putArray("failures");
+            for (int i = 0; i < results.length; i++) {
+                outputItems.add(results[i] != null ? results[i] : JsonNodeFactory.instance.nullNode());
+                if (errors[i] != null) failures.addObject().put("index", i).put("error", errors[i]);
+            }
+
+            if (config.getReduceTaskId() == null) {
+                result.complete(output);
+            } else {
+                reduce(output);
+            }
+        }
+
+        private void reduce(ObjectNode output) {
+            Task reduceTask = taskRepository.findById(config.getReduceTaskId());
+            if (reduceTask == null) {
+                throw new TaskExecutionException("Reduce task " + config.getReduceTaskId() + " of " + task.getName() + " not found");
+            }
+            TaskExecutor reduceExecutor = executors.get(reduceTask);
+            ObjectNode reduceInput = reduceTask.getParameters() != null
+                    ? objectMapper.valueToTree(reduceTask.getParameters())
+                    : objectMapper.createObjectNode();
+            reduceInput.setAll(output);
+            if (input.has("context")) reduceInput.set("context", input.get("context"));
+
+            policyRunner.run(callKey(reduceExecutor, reduceTask), reduceTask.getExecutionPolicy(),
+                            () -> tenantQuotas.invoke(tenant, () -> reduceExecutor.execute(reduceTask, reduceInput, tenant)))
+                    .thenAccept(outcome -> {
+                        if (outcome.succeeded()) {
+                            result.complete(outcome.value());
+                        } else {
+                            result.completeExceptionally(new TaskExecutionException("Reduce task " + reduceTask.getName()
+                                    + " of " + task.getName() + " failed: " + outcome.error().getMessage(), outcome.error()));
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.cloudorchestrator.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.POJONode;
+
+/**
+ * A task result kept in the {@link BlobStore} instead of the workflow context.
+ *
+ * In the context it is a POJO node, which no parsed task output can be, so it is never mistaken for a result
+ * that happens to look like a reference. Serialized (Lambda payloads, the execution log) it reads
+ * {"$blobRef": uri, "sizeBytes": n}.
+ */
+public record OffloadedResult(@JsonProperty("$blobRef") String reference, @JsonProperty("sizeBytes") long sizeBytes) {
+
+    JsonNode toNode() {
+        return JsonNodeFactory.instance.pojoNode(this);
+    }
+
+    /** The offloaded result the context value stands for, or null for an inline value. */
+    static OffloadedResult of(JsonNode value) {
+        return value instanceof POJONode pojo && pojo.getPojo() instanceof OffloadedResult ref ? ref : null;
+    }
+}
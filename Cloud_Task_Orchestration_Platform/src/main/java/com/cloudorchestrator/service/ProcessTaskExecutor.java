@@ -0,0 +1,161 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.ExecutionPolicy;
+import com.cloudorchestrator.model.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a local command per task: the input JSON on stdin, the result read from stdout (JSON, or text).
+ * A non-zero exit code fails the task with the end of stderr as the message.
+ *
+ * Only commands registered in configuration can run: Task.handler names an entry of
+ * orchestrator.executors.process.commands.&lt;handler&gt;=&lt;command line&gt;. The process is killed when the
+ * task's timeout (ExecutionPolicy.timeoutMs, else orchestrator.execution.timeout-ms) expires, or when the caller
+ * abandons the returned future.
+ */
+@Component
+public class ProcessTaskExecutor implements TaskExecutor {
+
+    public static final String TYPE = "PROCESS";
+
+    private static final int MAX_STDERR_IN_MESSAGE = 2000;
+
+    private final Environment environment;
+    private final Semaphore slots;
+    private final long defaultTimeoutMs;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService ioExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ProcessTaskExecutor(Environment environment,
+                               @Value("${orchestrator.executors.process.max-concurrent:4}") int maxConcurrent,
+                               @Value("${orchestrator.execution.timeout-ms:900000}") long defaultTimeoutMs) {
+        this.environment = environment;
+        this.slots = new Semaphore(maxConcurrent);
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ioExecutor.shutdownNow();
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void validate(Task task) {
+        command(task);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> execute(Task task, ObjectNode input) {
+        List<String> command;
+        byte[] stdin;
+        try {
+            command = command(task);
+            stdin = objectMapper.writeValueAsBytes(input);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<JsonNode> result = new CompletableFuture<>();
+        AtomicReference<Process> running = new AtomicReference<>();
+        ioExecutor.execute(() -> {
+            try {
+                result.complete(run(task, command, stdin, running, result));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        // Timed out or abandoned: do not leave the process behind. The timeout is enforced here as well, because a
+        // caller behind a ConcurrencyGate gives up on the gate's future, not on this one
+        result.orTimeout(timeoutMs(task), TimeUnit.MILLISECONDS);
+        result.whenComplete((value, error) -> {
+            Process process = running.get();
+            if (error != null && process != null) process.destroyForcibly();
+        });
+        return result;
+    }
+
+    private JsonNode run(Task task, List<String> command, byte[] stdin, AtomicReference<Process> running,
+                         CompletableFuture<JsonNode> result) throws IOException, InterruptedException, ExecutionException {
+        slots.acquire();
+        try {
+            Process process = new ProcessBuilder(command).start();
+            running.set(process);
+            if (result.isDone()) process.destroyForcibly(); // timed out while waiting for a slot
+
+            // stdin, stdout and stderr are pumped concurrently so a chatty process cannot deadlock on a full pipe
+            ioExecutor.execute(() -> {
+                try (OutputStream out = process.getOutputStream()) {
+                    out.write(stdin);
+                } catch (IOException ignored) {
+                    // the process exited without reading all of its input
+                }
+            });
+            Future<byte[]> stderr = ioExecutor.submit(() -> readAll(process.getErrorStream()));
+            byte[] stdout = readAll(process.getInputStream());
+
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                String message = new String(stderr.get(), StandardCharsets.UTF_8).strip();
+                if (message.length() > MAX_STDERR_IN_MESSAGE) {
+                    message = "..." + message.substring(message.length() - MAX_STDERR_IN_MESSAGE);
+                }
+                throw new TaskExecutionException("Process task " + task.getName() + " exited with " + exitCode + ": " + message);
+            }
+            return parse(stdout);
+        } finally {
+            slots.release();
+        }
+    }
+
+    private long timeoutMs(Task task) {
+        ExecutionPolicy policy = task.getExecutionPolicy();
+        return Math.max(1, policy != null && policy.getTimeoutMs() != null ? policy.getTimeoutMs() : defaultTimeoutMs);
+    }
+
+    private List<String> command(Task task) {
+        String handler = task.getHandler();
+        String commandLine = handler == null ? null
+                : environment.getProperty("orchestrator.executors.process.commands." + handler);
+        if (commandLine == null || commandLine.isBlank()) {
+            throw new IllegalArgumentException("PROCESS task " + task.getName() + " needs a handler registered under "
+                    + "orchestrator.executors.process.commands");
+        }
+        return Arrays.asList(commandLine.trim().split("\\s+"));
+    }
+
+    private JsonNode parse(byte[] stdout) {
+        try {
+            JsonNode node = objectMapper.readTree(stdout);
+            return node != null ? node : JsonNodeFactory.instance.nullNode();
+        } catch (IOException e) {
+            return JsonNodeFactory.instance.textNode(new String(stdout, StandardCharsets.UTF_8).strip());
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.cloudorchestrator.service;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.net.URI;
+
+/**
+ * BlobStore on S3 (orchestrator.blob-store.type=s3): one object per blob under orchestrator.blob-store.s3.prefix
+ * in orchestrator.blob-store.s3.bucket, referenced by s3://bucket/key URI.
+ *
+ * Lambda tasks receive these references instead of the content and read the objects themselves; their execution
+ * role needs s3:GetObject on the prefix. Retention is an S3 lifecycle rule on the prefix.
+ */
+public class S3BlobStore implements BlobStore {
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String prefix;
+
+    public S3BlobStore(S3Client s3, String bucket, String prefix) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.prefix = prefix.isEmpty() || prefix.endsWith("/") ? prefix : prefix + "/";
+    }
+
+    @Override
+    public String put(String key, byte[] content) {
+        String objectKey = prefix + key;
+        s3.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(objectKey)
+                        .contentType("application/json")
+                        .build(),
+                RequestBody.fromBytes(content));
+        return "s3://" + bucket + "/" + objectKey;
+    }
+
+    @Override
+    public byte[] get(String reference) {
+        URI uri = URI.create(reference);
+        String objectKey = uri.getPath() == null ? "" : uri.getPath().replaceFirst("^/", "");
+        if (!"s3".equals(uri.getScheme()) || !bucket.equals(uri.getHost()) || !objectKey.startsWith(prefix)) {
+            throw new IllegalArgumentException("Blob reference outside of the blob store: " + reference);
+        }
+        return s3.getObjectAsBytes(GetObjectRequest.builder().bucket(bucket).key(objectKey).build()).asByteArrayUnsafe();
+    }
+
+    @Override
+    public boolean isReadableByTasks() {
+        return true;
+    }
+}
@@ -0,0 +1,194 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.SchedulerLease;
+import com.cloudorchestrator.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Splits scheduled workflows into shards and decides which shards this node fires.
+ *
+ * Every heartbeat the node refreshes its own liveness row, counts the live nodes and aims for
+ * ceil(shards / liveNodes) shard leases: it renews what it holds, gives back extras when a node joined,
+ * and takes free or expired shards when a node left or died. Leases are conditional writes in the
+ * scheduler_lease table, so two nodes never hold the same shard at once (up to clock skew within the TTL).
+ *
+ * Ownership ends with the lease: if renewals fail (e.g. DynamoDB unreachable), the node stops firing its shards a
+ * safety margin (a fifth of the TTL, for clock skew) before the leases expire and other nodes may take them.
+ *
+ * The same table carries change markers: a node that saves or deletes a workflow writes a "change#&lt;workflowId&gt;"
+ * row, and the other nodes re-read just those workflows (see {@link WorkflowScheduler#refresh}). Markers expire
+ * after orchestrator.scheduler.sharding.change-ttl-ms; a node that was away longer rebuilds its schedule at startup.
+ *
+ * Disabled by default (orchestrator.scheduler.sharding.enabled=false): a single node owns everything.
+ */
+@Service
+public class ShardLeaseManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardLeaseManager.class);
+    private static final String SHARD_PREFIX = "shard#";
+    private static final String NODE_PREFIX = "node#";
+    private static final String CHANGE_PREFIX = "change#";
+
+    private final SchedulerLeaseRepository repository;
+    private final boolean enabled;
+    private final int shardCount;
+    private final long leaseTtlMillis;
+    private final long changeTtlMillis;
+    private final String nodeId;
+
+    private volatile Set<Integer> ownedShards = Set.of();
+    // Until when ownedShards may be fired: the expiry of the last successful renewal, minus the margin
+    private volatile long ownedUntil;
+
+    public ShardLeaseManager(SchedulerLeaseRepository repository,
+                             @Value("${orchestrator.scheduler.sharding.enabled:false}") boolean enabled,
+                             @Value("${orchestrator.scheduler.sharding.shards:64}") int shardCount,
+                             @Value("${orchestrator.scheduler.sharding.lease-ttl-ms:15000}") long leaseTtlMillis,
+                             @Value("${orchestrator.scheduler.sharding.change-ttl-ms:3600000}") long changeTtlMillis,
+                             @Value("${orchestrator.node-id:}") String nodeId) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.shardCount = shardCount;
+        this.leaseTtlMillis = leaseTtlMillis;
+        this.changeTtlMillis = changeTtlMillis;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    public static int shardOf(String workflowId, int shardCount) {
+        // String.hashCode is specified by the JLS, so every node computes the same shard
+        return Math.floorMod(workflowId.hashCode(), shardCount);
+    }
+
+    /** True if this node should fire the workflow. */
+    public boolean owns(String workflowId) {
+        return !enabled || getOwnedShards().contains(shardOf(workflowId, shardCount));
+    }
+
+    public Set<Integer> getOwnedShards() {
+        return System.currentTimeMillis() < ownedUntil ? ownedShards : Set.of();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Tells the other nodes the workflow was saved or deleted; they pick it up at their next refresh. */
+    public void announceChange(String workflowId) {
+        if (!enabled) return;
+        try {
+            repository.putMarker(CHANGE_PREFIX + workflowId, nodeId, System.currentTimeMillis() + changeTtlMillis);
+        } catch (RuntimeException e) {
+            logger.warn("Could not announce workflow change workflowId={} node={}: {}", workflowId, nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Workflows changed through other nodes, with a version that is new for each change (the marker's expiry).
+     * Expired markers are deleted on the way.
+     */
+    public Map<String, Long> findChanges() {
+        if (!enabled) return Map.of();
+
+        long now = System.currentTimeMillis();
+        Map<String, Long> changes = new HashMap<>();
+        for (SchedulerLease marker : repository.findAll()) {
+            String key = marker.getLeaseKey();
+            if (!key.startsWith(CHANGE_PREFIX)) continue;
+            if (marker.getExpiresAt() == null || marker.getExpiresAt() < now) {
+                repository.delete(key);
+            } else if (!nodeId.equals(marker.getOwner())) {
+                changes.put(key.substring(CHANGE_PREFIX.length()), marker.getExpiresAt());
+            }
+        }
+        return changes;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Scheduled(fixedDelayString = "${orchestrator.scheduler.sharding.heartbeat-ms:5000}")
+    public void heartbeat() {
+        if (!enabled) return;
+
+        try {
+            rebalance(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // Keep current leases; owns() gives them up before they expire if DynamoDB stays unreachable
+            logger.warn("Shard lease heartbeat failed node={}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private void rebalance(long now) {
+        repository.heartbeat(NODE_PREFIX + nodeId, nodeId, now + leaseTtlMillis);
+
+        Map<Integer, SchedulerLease> shardLeases = new HashMap<>();
+        int liveNodes = 0;
+        for (SchedulerLease lease : repository.findAll()) {
+            String key = lease.getLeaseKey();
+            boolean live = lease.getExpiresAt() != null && lease.getExpiresAt() >= now;
+            if (key.startsWith(NODE_PREFIX) && live) {
+                liveNodes++;
+            } else if (key.startsWith(SHARD_PREFIX)) {
+                shardLeases.put(Integer.parseInt(key.substring(SHARD_PREFIX.length())), lease);
+            }
+        }
+        int fairShare = (shardCount + Math.max(1, liveNodes) - 1) / Math.max(1, liveNodes);
+
+        // 1. Renew what we hold
+        TreeSet<Integer> owned = new TreeSet<>();
+        for (Map.Entry<Integer, SchedulerLease> entry : shardLeases.entrySet()) {
+            if (nodeId.equals(entry.getValue().getOwner())
+                    && repository.tryAcquire(SHARD_PREFIX + entry.getKey(), nodeId, now, leaseTtlMillis)) {
+                owned.add(entry.getKey());
+            }
+        }
+
+        // 2. A node joined: hand back the shards above our fair share
+        Iterator<Integer> extras = owned.descendingIterator();
+        while (owned.size() > fairShare && extras.hasNext()) {
+            int shard = extras.next();
+            repository.release(SHARD_PREFIX + shard, nodeId);
+            extras.remove();
+        }
+
+        // 3. A node left or died: take free / expired shards up to our fair share
+        for (int shard = 0; shard < shardCount && owned.size() < fairShare; shard++) {
+            if (owned.contains(shard)) continue;
+
+            SchedulerLease lease = shardLeases.get(shard);
+            boolean available = lease == null || lease.getExpiresAt() == null || lease.getExpiresAt() < now;
+            if (available && repository.tryAcquire(SHARD_PREFIX + shard, nodeId, now, leaseTtlMillis)) {
+                owned.add(shard);
+            }
+        }
+
+        ownedShards = Set.copyOf(owned);
+        ownedUntil = now + leaseTtlMillis - leaseTtlMillis / 5;
+    }
+
+    // Leave cleanly so the other nodes pick up our shards at their next heartbeat instead of after the TTL
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) return;
+
+        Set<Integer> owned = ownedShards;
+        ownedShards = Set.of();
+        ownedUntil = 0;
+        try {
+            for (int shard : owned) {
+                repository.release(SHARD_PREFIX + shard, nodeId);
+            }
+            repository.delete(NODE_PREFIX + nodeId);
+        } catch (RuntimeException e) {
+            logger.warn("Could not release shard leases node={}: {}", nodeId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.cloudorchestrator.service;
+
+// A task invocation that did not produce a usable result (function error, timeout, ...)
+public class TaskExecutionException extends RuntimeException {
+
+    public TaskExecutionException(String message) {
+        super(message);
+    }
+
+    public TaskExecutionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
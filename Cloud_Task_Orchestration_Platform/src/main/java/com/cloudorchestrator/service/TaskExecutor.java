@@ -0,0 +1,48 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs one task of a given {@link Task#getType() type}. Implementations are Spring beans and are picked up
+ * by {@link TaskExecutorRegistry}; the orchestrator applies the task's execution policy around them.
+ *
+ * The input is the task's parameters plus a "context" object with the selected upstream outputs.
+ * It shares nodes with the workflow context, so executors must not modify it.
+ */
+public interface TaskExecutor {
+
+    /** Value of {@link Task#getType()} this executor handles, e.g. "LAMBDA". */
+    String type();
+
+    /** Rejects tasks this executor cannot run (e.g. an unknown handler) with IllegalArgumentException. */
+    default void validate(Task task) {
+    }
+
+    /** Should not block for long; failures are reported through the returned future. */
+    CompletableFuture<JsonNode> execute(Task task, ObjectNode input);
+
+    /**
+     * Runs the task for a job of the given tenant ({@link TenantQuotas#tenantOf}). The orchestrator calls this one
+     * and counts it as one invocation against the tenant's max-invocations, unless the executor {@link #fansOut()}.
+     */
+    default CompletableFuture<JsonNode> execute(Task task, ObjectNode input, String tenant) {
+        return execute(task, input);
+    }
+
+    /**
+     * True if offloaded upstream results may be passed as references ({@link OffloadedResult}) rather than their
+     * content, because whatever the executor calls reads the {@link BlobStore} itself.
+     */
+    default boolean acceptsBlobReferences() {
+        return false;
+    }
+
+    /** True for executors that start invocations of other executors (MAP) and count those against the tenant. */
+    default boolean fansOut() {
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.Task;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// All TaskExecutor beans, by task type. Tasks without a type are Lambda tasks.
+@Component
+public class TaskExecutorRegistry {
+
+    public static final String DEFAULT_TYPE = LambdaTaskExecutor.TYPE;
+
+    private final Map<String, TaskExecutor> executors = new HashMap<>();
+
+    public TaskExecutorRegistry(List<TaskExecutor> executors) {
+        for (TaskExecutor executor : executors) {
+            TaskExecutor previous = this.executors.put(executor.type(), executor);
+            if (previous != null) {
+                throw new IllegalStateException("Two executors for task type " + executor.type());
+            }
+        }
+    }
+
+    public TaskExecutor get(Task task) {
+        String type = task.getType() == null ? DEFAULT_TYPE : task.getType().toUpperCase(Locale.ROOT);
+        TaskExecutor executor = executors.get(type);
+        if (executor == null) {
+            throw new IllegalArgumentException("Unknown task type: " + task.getType() + " (known: " + executors.keySet() + ")");
+        }
+        return executor;
+    }
+
+    // Used when a task is created, so bad definitions are rejected up front instead of failing jobs
+    public void validate(Task task) {
+        get(task).validate(task);
+    }
+}
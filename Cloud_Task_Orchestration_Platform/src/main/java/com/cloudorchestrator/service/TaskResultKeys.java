@@ -0,0 +1,92 @@
+package com.cloudorchestrator.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+
+// Content address of a task run: SHA-256 over the executor key, the task version and a canonical (sorted-keys)
+// form of the input. The version (Task.updatedAt) keeps results of an edited task from being served again
+final class TaskResultKeys {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private TaskResultKeys() {
+    }
+
+    static String of(String executorKey, Instant version, JsonNode input) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        // Streamed straight into the digest; nothing is buffered
+        try (JsonGenerator generator = jsonFactory.createGenerator(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            generator.writeStartArray();
+            generator.writeString(executorKey);
+            if (version != null) generator.writeString(version.toString());
+            else generator.writeNull();
+            writeCanonical(generator, input);
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void writeCanonical(JsonGenerator generator, JsonNode node) throws IOException {
+        if (node.isObject()) {
+            List<String> names = new ArrayList<>();
+            for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+                names.add(it.next());
+            }
+            names.sort(null);
+            generator.writeStartObject();
+            for (String name : names) {
+                generator.writeFieldName(name);
+                writeCanonical(generator, node.get(name));
+            }
+            generator.writeEndObject();
+        } else if (node.isArray()) {
+            generator.writeStartArray();
+            for (JsonNode element : node) {
+                writeCanonical(generator, element);
+            }
+            generator.writeEndArray();
+        } else if (node.isNumber()) {
+            // 1, 1.0 and 1e0 are the same parameter value
+            String number = Double.isFinite(node.doubleValue()) || node.isBigDecimal() || node.isBigInteger()
+                    ? node.decimalValue().stripTrailingZeros().toPlainString()
+                    : node.asText();
+            generator.writeNumber(number);
+        } else if (node.isBoolean()) {
+            generator.writeBoolean(node.booleanValue());
+        } else if (node.isNull() || node.isMissingNode()) {
+            generator.writeNull();
+        } else if (node instanceof POJONode pojo && pojo.getPojo() instanceof OffloadedResult ref) {
+            // The reference stands for the content; hashed as it is serialized
+            generator.writeStartObject();
+            generator.writeStringField("$blobRef", ref.reference());
+            generator.writeNumberField("sizeBytes", ref.sizeBytes());
+            generator.writeEndObject();
+        } else if (node.isBinary()) {
+            generator.writeBinary(node.binaryValue());
+        } else {
+            generator.writeString(node.asText());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.cloudorchestrator.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Order in which {@link JobQueue} workers start jobs: weighted fair queueing across tenants, with priority classes.
+ *
+ * Each pick is stride scheduling at two levels. First the class: INTERACTIVE and SCHEDULED runs share the
+ * workers by their class weights, so interactive runs mostly go first but scheduled ones are never starved.
+ * Then the tenant, among those with a job of that class and under their max-concurrent-jobs: a pick advances
+ * the tenant's pass by 1/weight and the lowest pass wins, so busy tenants get workers in proportion to their
+ * weights. A tenant (or class) that was idle starts from the current virtual time, so it cannot bank credit.
+ * Within a tenant and class, jobs run in arrival order.
+ */
+final class TenantFairQueue<T> {
+
+    record Entry<T>(String tenant, JobQueue.Priority priority, T item, long enqueuedAtNanos) {
+    }
+
+    private final TenantQuotas quotas;
+    private final int capacity;
+    private final double[] classStride;
+    private final double[] classPass;
+    private double classVirtualTime;
+    private double tenantVirtualTime;
+
+    // Tenants with queued or running jobs; all state is guarded by this
+    private final Map<String, Tenant> tenants = new HashMap<>();
+    private int size;
+    private boolean closed;
+
+    TenantFairQueue(TenantQuotas quotas, int capacity, int interactiveWeight, int scheduledWeight) {
+        this.quotas = quotas;
+        this.capacity = capacity;
+        this.classStride = new double[JobQueue.Priority.values().length];
+        this.classPass = new double[classStride.length];
+        classStride[JobQueue.Priority.INTERACTIVE.ordinal()] = 1.0 / Math.max(1, interactiveWeight);
+        classStride[JobQueue.Priority.SCHEDULED.ordinal()] = 1.0 / Math.max(1, scheduledWeight);
+    }
+
+    /** @return false when the queue, or the tenant's share of it, is full */
+    synchronized boolean offer(String tenant, JobQueue.Priority priority, T item) {
+        if (closed || size >= capacity) return false;
+
+        int maxQueued = quotas.of(tenant).maxQueuedJobs();
+        Tenant state = tenants.get(tenant);
+        if (maxQueued > 0 && state != null && state.queued() >= maxQueued) return false;
+
+        if (state == null) {
+            state = new Tenant(tenant);
+            tenants.put(tenant, state);
+        }
+        state.queues.get(priority.ordinal()).add(new Entry<>(tenant, priority, item, System.nanoTime()));
+        size++;
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Waits for the next job a worker may start and counts it as running for its tenant until {@link #done}.
+     *
+     * @return null once the queue is closed and drained
+     */
+    synchronized Entry<T> take() throws InterruptedException {
+        while (true) {
+            Entry<T> next = pick();
+            if (next != null) return next;
+            if (closed && size == 0) return null;
+            wait();
+        }
+    }
+
+    synchronized void done(String tenant) {
+        Tenant state = tenants.get(tenant);
+        if (state != null) {
+            state.running--;
+            if (state.running == 0 && state.queued() == 0) tenants.remove(tenant);
+        }
+        notifyAll(); // the tenant may be back under its limit
+    }
+
+    /** Refuses new jobs; workers finish what is queued, then take() returns null. */
+    synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private Entry<T> pick() {
+        if (size == 0) return null;
+
+        int priority = -1;
+        double priorityPass = 0;
+        for (int c = 0; c < classPass.length; c++) {
+            if (startable(c) == null) continue;
+            double pass = Math.max(classPass[c], classVirtualTime);
+            if (priority < 0 || pass < priorityPass) {
+                priority = c;
+                priorityPass = pass;
+            }
+        }
+        if (priority < 0) return null; // everything queued belongs to tenants at their limit
+        classVirtualTime = priorityPass;
+        classPass[priority] = priorityPass + classStride[priority];
+
+        Tenant tenant = startable(priority);
+        tenantVirtualTime = Math.max(tenant.pass, tenantVirtualTime);
+        tenant.pass = tenantVirtualTime + 1.0 / quotas.of(tenant.id).weight();
+        tenant.running++;
+        size--;
+        return tenant.queues.get(priority).poll();
+    }
+
+    // Tenant with the lowest pass that has a job of the class and may start one, or null
+    private Tenant startable(int priority) {
+        Tenant best = null;
+        for (Tenant tenant : tenants.values()) {
+            if (tenant.queues.get(priority).isEmpty() || !tenant.mayStart()) continue;
+            if (best == null || Math.max(tenant.pass, tenantVirtualTime) < Math.max(best.pass, tenantVirtualTime)) {
+                best = tenant;
+            }
+        }
+        return best;
+    }
+
+    private final class Tenant {
+        final String id;
+        final List<Queue<Entry<T>>> queues = new ArrayList<>();
+        double pass;
+        int running;
+
+        Tenant(String id) {
+            this.id = id;
+            for (int c = 0; c < classPass.length; c++) queues.add(new ArrayDeque<>());
+        }
+
+        int queued() {
+            int queued = 0;
+            for (Queue<Entry<T>> queue : queues) queued += queue.size();
+            return queued;
+        }
+
+        boolean mayStart() {
+            int max = quotas.of(id).maxConcurrentJobs();
+            return max <= 0 || running < max;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.cloudorchestrator.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-tenant share of the job queue and cap on task invocations in flight.
+ *
+ * A tenant is a Workflow.ownerId (a UserProfile.userId); workflows without an owner share the tenant "unowned".
+ * Defaults are orchestrator.tenants.default-*, overridden per tenant with
+ * orchestrator.tenants.&lt;ownerId&gt;.weight / max-concurrent-jobs / max-queued-jobs / max-invocations.
+ * A limit of 0 means the tenant is only bound by the global ones.
+ */
+@Component
+public class TenantQuotas {
+
+    public static final String UNOWNED = "unowned";
+
+    /**
+     * @param weight            share of the workers while other tenants are waiting too
+     * @param maxConcurrentJobs jobs of the tenant running at once
+     * @param maxQueuedJobs     jobs of the tenant waiting at once; more are rejected like a full queue
+     * @param maxInvocations    task invocations (Lambda calls, processes, ...) of the tenant in flight at once
+     */
+    public record Quota(int weight, int maxConcurrentJobs, int maxQueuedJobs, int maxInvocations) {
+    }
+
+    private final Environment environment;
+    private final Quota defaults;
+    // Settings do not change at runtime, so each tenant's are read once
+    private final Map<String, Quota> quotas = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrencyGate> invocationGates = new ConcurrentHashMap<>();
+
+    public TenantQuotas(Environment environment,
+                        @Value("${orchestrator.tenants.default-weight:1}") int weight,
+                        @Value("${orchestrator.tenants.default-max-concurrent-jobs:0}") int maxConcurrentJobs,
+                        @Value("${orchestrator.tenants.default-max-queued-jobs:0}") int maxQueuedJobs,
+                        @Value("${orchestrator.tenants.default-max-invocations:0}") int maxInvocations) {
+        this.environment = environment;
+        this.defaults = new Quota(Math.max(1, weight), maxConcurrentJobs, maxQueuedJobs, maxInvocations);
+    }
+
+    public static String tenantOf(String ownerId) {
+        return ownerId == null || ownerId.isBlank() ? UNOWNED : ownerId;
+    }
+
+    public Quota of(String tenant) {
+        return quotas.computeIfAbsent(tenant, key -> new Quota(
+                Math.max(1, setting(key, "weight", defaults.weight())),
+                setting(key, "max-concurrent-jobs", defaults.maxConcurrentJobs()),
+                setting(key, "max-queued-jobs", defaults.maxQueuedJobs()),
+                setting(key, "max-invocations", defaults.maxInvocations())));
+    }
+
+    /**
+     * Starts the call now, or once the tenant is back under its max-invocations; nothing blocks meanwhile.
+     * A call counts until its future completes, also after the caller timed out on it.
+     */
+    public <T> CompletableFuture<T> invoke(String tenant, Supplier<CompletableFuture<T>> call) {
+        int limit = of(tenant).maxInvocations();
+        if (limit <= 0) return call.get();
+        return invocationGates.computeIfAbsent(tenant, key -> new ConcurrencyGate(limit)).submit(call);
+    }
+
+    public int getInFlightInvocations(String tenant) {
+        ConcurrencyGate gate = invocationGates.get(tenant);
+        return gate == null ? 0 : gate.inFlight();
+    }
+
+    private int setting(String tenant, String name, int defaultValue) {
+        return environment.getProperty("orchestrator.tenants." + tenant + "." + name, Integer.class, defaultValue);
+    }
+}
@@ -0,0 +1,104 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.Workflow;
+
+import java.util.*;
+
+/**
+ * Execution plan of a workflow: its tasks in topological order plus the upstream tasks each one waits for.
+ *
+ * Workflows without a "dependencies" map keep the old behaviour: taskIds run as a chain.
+ */
+public class WorkflowDag {
+
+    private final List<String> taskIds;
+    private final Map<String, List<String>> upstream;
+
+    private WorkflowDag(List<String> taskIds, Map<String, List<String>> upstream) {
+        this.taskIds = taskIds;
+        this.upstream = upstream;
+    }
+
+    /**
+     * Builds the plan and validates it.
+     *
+     * @throws BadRequestException if a dependency points to an unknown task or the graph has a cycle
+     */
+    public static WorkflowDag of(Workflow workflow) {
+        Set<String> nodes = new LinkedHashSet<>();
+        if (workflow.getTaskIds() != null) {
+            nodes.addAll(workflow.getTaskIds());
+        }
+
+        Map<String, List<String>> upstream = new LinkedHashMap<>();
+        Map<String, List<String>> declared = workflow.getDependencies();
+
+        if (declared == null || declared.isEmpty()) {
+            // Legacy linear workflow: each task waits for the previous one
+            String previous = null;
+            for (String taskId : nodes) {
+                upstream.put(taskId, previous == null ? List.of() : List.of(previous));
+                previous = taskId;
+            }
+        } else {
+            for (String taskId : nodes) {
+                List<String> deps = declared.getOrDefault(taskId, List.of());
+                for (String dep : deps) {
+                    if (!nodes.contains(dep)) {
+                        throw new BadRequestException("Task " + taskId + " depends on unknown task " + dep);
+                    }
+                }
+                upstream.put(taskId, List.copyOf(new LinkedHashSet<>(deps)));
+            }
+            for (String taskId : declared.keySet()) {
+                if (!nodes.contains(taskId)) {
+                    throw new BadRequestException("Dependencies declared for unknown task " + taskId);
+                }
+            }
+        }
+
+        return new WorkflowDag(topologicalOrder(upstream), upstream);
+    }
+
+    // Kahn's algorithm: ties keep the order of workflow.taskIds
+    private static List<String> topologicalOrder(Map<String, List<String>> upstream) {
+        Map<String, Integer> pending = new HashMap<>();
+        Map<String, List<String>> downstream = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : upstream.entrySet()) {
+            pending.put(entry.getKey(), entry.getValue().size());
+            for (String dep : entry.getValue()) {
+                downstream.computeIfAbsent(dep, k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        Deque<String> ready = new ArrayDeque<>();
+        for (String taskId : upstream.keySet()) {
+            if (pending.get(taskId) == 0) ready.add(taskId);
+        }
+
+        List<String> order = new ArrayList<>(upstream.size());
+        while (!ready.isEmpty()) {
+            String taskId = ready.poll();
+            order.add(taskId);
+            for (String next : downstream.getOrDefault(taskId, List.of())) {
+                if (pending.merge(next, -1, Integer::sum) == 0) ready.add(next);
+            }
+        }
+
+        if (order.size() != upstream.size()) {
+            List<String> cycle = new ArrayList<>(upstream.keySet());
+            cycle.removeAll(order);
+            throw new BadRequestException("Workflow has a dependency cycle between tasks " + cycle);
+        }
+        return List.copyOf(order);
+    }
+
+    /** Tasks in an order where every task comes after all of its dependencies. */
+    public List<String> getTaskIds() {
+        return taskIds;
+    }
+
+    public List<String> getDependencies(String taskId) {
+        return upstream.getOrDefault(taskId, List.of());
+    }
+}
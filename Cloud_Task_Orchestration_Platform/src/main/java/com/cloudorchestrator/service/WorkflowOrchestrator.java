@@ -1,109 +1,440 @@
 package com.cloudorchestrator.service;
 
+import com.cloudorchestrator.model.ExecutionLog;
 import com.cloudorchestrator.model.JobHistory;
 import com.cloudorchestrator.model.Task;
+import com.cloudorchestrator.model.TaskResultCacheEntry;
 import com.cloudorchestrator.model.Workflow;
-import com.cloudorchestrator.repository.JobHistoryRepository;
+import com.cloudorchestrator.repository.ExecutionLogRepository;
+import com.cloudorchestrator.repository.JobHistoryWriteBuffer;
 import com.cloudorchestrator.repository.TaskRepository;
+import com.cloudorchestrator.repository.TaskResultCacheRepository;
 import com.cloudorchestrator.repository.WorkflowRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 @Service
 public class WorkflowOrchestrator {
 
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowOrchestrator.class);
+
+    // Outcome of one step; cacheKey is set for deterministic tasks
+    private record StepExecution(ExecutionPolicyRunner.Outcome<JsonNode> outcome, String cacheKey, boolean cacheHit) {
+    }
+
     private final WorkflowRepository workflowRepository;
     private final TaskRepository taskRepository;
-    private final JobHistoryRepository jobHistoryRepository;
-    private final LambdaInvocationService lambdaService;
+    private final JobHistoryWriteBuffer jobHistoryWriter;
+    private final ExecutionLogRepository executionLogRepository;
+    private final TaskExecutorRegistry executors;
+    private final ExecutionPolicyRunner policyRunner;
+    private final TaskResultCacheRepository resultCache;
+    private final BlobStore blobStore;
+    private final JobEventBus events;
+    private final TenantQuotas tenantQuotas;
+    private final int offloadThresholdBytes;
+    private final MeterRegistry meterRegistry;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    // Task bookkeeping (DynamoDB reads/writes) runs on virtual threads; the semaphore caps how much of it
+    // runs at once across all jobs. Task executions are asynchronous and do not occupy a slot while in flight.
+    private final ExecutorService taskExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore taskSlots;
+
     public WorkflowOrchestrator(WorkflowRepository workflowRepository,
                                 TaskRepository taskRepository,
-                                JobHistoryRepository jobHistoryRepository,
-                                LambdaInvocationService lambdaService) {
+                                JobHistoryWriteBuffer jobHistoryWriter,
+                                ExecutionLogRepository executionLogRepository,
+                                TaskExecutorRegistry executors,
+                                ExecutionPolicyRunner policyRunner,
+                                TaskResultCacheRepository resultCache,
+                                BlobStore blobStore,
+                                JobEventBus events,
+                                TenantQuotas tenantQuotas,
+                                @Value("${orchestrator.max-parallel-tasks:32}") int maxParallelTasks,
+                                @Value("${orchestrator.result-offload-threshold-bytes:65536}") int offloadThresholdBytes,
+                                MeterRegistry meterRegistry) {
         this.workflowRepository = workflowRepository;
         this.taskRepository = taskRepository;
-        this.jobHistoryRepository = jobHistoryRepository;
-        this.lambdaService = lambdaService;
+        this.jobHistoryWriter = jobHistoryWriter;
+        this.executionLogRepository = executionLogRepository;
+        this.executors = executors;
+        this.policyRunner = policyRunner;
+        this.resultCache = resultCache;
+        this.blobStore = blobStore;
+        this.events = events;
+        this.tenantQuotas = tenantQuotas;
+        this.offloadThresholdBytes = offloadThresholdBytes;
+        this.taskSlots = new Semaphore(maxParallelTasks);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        taskExecutor.shutdown();
     }
 
     public void runWorkflow(String workflowId) {
+        JobHistory job = new JobHistory();
+        job.setWorkflowId(workflowId);
+        runJob(job);
+    }
+
+    /**
+     * Runs the workflow referenced by the job. The job may already carry an id
+     * (jobs accepted by {@link JobQueue} hand out their id before they start).
+     */
+    public void runJob(JobHistory job) {
+        job.setStartTime(Instant.now());
+        execute(job, false);
+    }
+
+    /**
+     * Continues a failed job: tasks with a SUCCESS ExecutionLog (the job's checkpoints) are not run again,
+     * their stored outputs are put back into the context, and everything else runs as usual.
+     */
+    public void resumeJob(JobHistory job) {
+        execute(job, true);
+    }
+
+    private void execute(JobHistory job, boolean resume) {
+        String workflowId = job.getWorkflowId();
         Workflow workflow = workflowRepository.findById(workflowId);
-        if (workflow == null) return;
 
         // 1. Initialize Job History
-        JobHistory job = new JobHistory();
-        job.setWorkflowId(workflowId);
+        if (workflow == null) {
+            job.setStatus("FAILED");
+            job.setEndTime(Instant.now());
+            jobHistoryWriter.save(job);
+            events.publish(JobEvent.JOB_FINISHED, job, null, job.getStatus(), "Workflow not found");
+            logger.warn("Workflow not found jobId={} workflowId={}", job.getJobId(), workflowId);
+            return;
+        }
+        if (job.getOwnerId() == null) job.setOwnerId(workflow.getOwnerId()); // jobs queued before owners existed
         job.setStatus("RUNNING");
-        job.setStartTime(Instant.now());
-        job.setLogs(new ArrayList<>());
-        job = jobHistoryRepository.save(job);
+        jobHistoryWriter.save(job);
 
-        System.out.println("🚀 STARTED JOB: " + job.getJobId());
+        logger.info("Job {} jobId={} workflowId={}", resume ? "resumed" : "started", job.getJobId(), workflowId);
 
-        Map<String, Object> globalContext = new HashMap<>();
+        // Written by parallel branches, so it must be thread-safe.
+        // Results are kept as parsed JSON trees, so they are passed on as JSON, not as escaped strings.
+        Map<String, JsonNode> globalContext = new ConcurrentHashMap<>();
 
         try {
-            List<String> taskIds = workflow.getTaskIds();
-            if (taskIds != null) {
-                for (String taskId : taskIds) {
-                    Task task = taskRepository.findById(taskId);
-                    if (task != null) {
-                        
-                        // Execute and get result
-                        String result = executeTask(task, globalContext);
-
-                        // ⭐ LOG RESULT TO CONSOLE HERE ⭐
-                        System.out.println("    ✅ Lambda Response: " + result);
-                        Map<String, Object> lambdaInput = new HashMap<>();
-                        // Save result to Context
-                        globalContext.put(task.getName(), result);
-
-                        // Add to Logs
-                        Map<String, String> logEntry = new HashMap<>();
-                        logEntry.put("task", task.getName());
-                        logEntry.put("result", result);
-                        job.getLogs().add(logEntry);
-                        
-                        jobHistoryRepository.save(job);
-                    }
+            WorkflowDag dag = WorkflowDag.of(workflow);
+            job.setTasksTotal(dag.getTaskIds().size());
+
+            // 2. Load the whole plan up front: one BatchGetItem instead of one GetItem per task
+            Map<String, Task> plan = new HashMap<>();
+            for (Task task : taskRepository.findAllById(dag.getTaskIds())) {
+                plan.put(task.getTaskId(), task);
+            }
+
+            // Resume: completed tasks count as done, their outputs are the context they left behind
+            Set<String> completed = resume ? restoreCheckpoints(job, plan, globalContext) : Set.of();
+            synchronized (job) {
+                job.setTasksCompleted(completed.size());
+                job.setTasksFailed(0);
+                events.publish(JobEvent.JOB_STARTED, job, null, job.getStatus(), null);
+            }
+
+            // 3. Chain every task behind its upstream tasks; independent branches run at the same time
+            Map<String, CompletableFuture<Void>> steps = new HashMap<>();
+            for (String taskId : dag.getTaskIds()) {
+                if (completed.contains(taskId)) {
+                    steps.put(taskId, CompletableFuture.completedFuture(null));
+                    continue;
                 }
+
+                CompletableFuture<?>[] upstream = dag.getDependencies(taskId).stream()
+                        .map(steps::get)
+                        .toArray(CompletableFuture[]::new);
+
+                steps.put(taskId, CompletableFuture.allOf(upstream)
+                        .thenComposeAsync(ignored -> runStep(plan.get(taskId), job, globalContext), taskExecutor));
             }
+
+            // 4. Join: waits for every branch, fails if any step failed (its dependents never start)
+            CompletableFuture.allOf(steps.values().toArray(CompletableFuture[]::new)).join();
             job.setStatus("COMPLETED");
 
         } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
             job.setStatus("FAILED");
-            System.err.println("Workflow Failed: " + e.getMessage());
+            job.setErrorMessage(cause.getMessage());
+            logger.warn("Job failed jobId={} workflowId={} error={}", job.getJobId(), workflowId, cause.getMessage());
         } finally {
             job.setEndTime(Instant.now());
-            jobHistoryRepository.save(job);
-            System.out.println("🏁 JOB FINISHED. Status: " + job.getStatus());
+            synchronized (job) {
+                jobHistoryWriter.save(job);
+                events.publish(JobEvent.JOB_FINISHED, job, null, job.getStatus(), job.getErrorMessage());
+            }
+            logger.info("Job finished jobId={} status={} tasksCompleted={} tasksFailed={}",
+                    job.getJobId(), job.getStatus(), job.getTasksCompleted(), job.getTasksFailed());
         }
     }
 
-    private String executeTask(Task task, Map<String, Object> globalContext) {
-        if (task.getLambdaFunctionName() == null) return "No-Op";
+    // Returns the ids of the plan's tasks that already succeeded in this job, after restoring their outputs
+    private Set<String> restoreCheckpoints(JobHistory job, Map<String, Task> plan, Map<String, JsonNode> globalContext) {
+        Set<String> completed = new HashSet<>();
+        for (ExecutionLog log : executionLogRepository.findSucceededByJobId(job.getJobId())) {
+            Task task = plan.get(log.getTaskId());
+            if (task == null) continue; // removed from the workflow since
 
+            globalContext.put(task.getName(), restoreOutput(log));
+            completed.add(task.getTaskId());
+        }
+        logger.info("Restored checkpoints jobId={} completedTasks={}", job.getJobId(), completed.size());
+        return completed;
+    }
+
+    // Offloaded outputs come back as references again; logs written before results were kept as JSON may hold plain text
+    private JsonNode restoreOutput(ExecutionLog log) {
+        String response = log.getResponse();
+        if (response == null) return JsonNodeFactory.instance.nullNode();
         try {
-            Map<String, Object> lambdaInput = new HashMap<>();
-            
-            if (task.getParameters() != null) { 
-                lambdaInput.putAll(task.getParameters()); 
+            if (Boolean.TRUE.equals(log.getOffloaded())) {
+                return objectMapper.readValue(response, OffloadedResult.class).toNode();
             }
-            
-            lambdaInput.put("context", globalContext);
+            return objectMapper.readTree(response);
+        } catch (IOException e) {
+            return JsonNodeFactory.instance.textNode(response);
+        }
+    }
+
+    // Starts the task's execution; a Lambda call holds no thread while it runs
+    private CompletableFuture<Void> runStep(Task task, JobHistory job, Map<String, JsonNode> globalContext) {
+        if (task == null) return CompletableFuture.completedFuture(null);
+
+        // Execute and record the outcome back on the task executor (never on the SDK event loop)
+        Instant startedAt = Instant.now();
+        synchronized (job) {
+            events.publish(JobEvent.TASK_STARTED, job, task, null, null);
+        }
+        return executeTask(task, job, globalContext)
+                .thenAcceptAsync(step -> {
+                    recordResult(task, job, startedAt, step, globalContext);
+                    if (!step.outcome().succeeded()) throw new CompletionException(step.outcome().error());
+                }, taskExecutor);
+    }
 
-            String jsonPayload = objectMapper.writeValueAsString(lambdaInput);
+    // Each task outcome is written once as its own ExecutionLog item; the job only keeps counters
+    private void recordResult(Task task, JobHistory job, Instant startedAt, StepExecution step,
+                              Map<String, JsonNode> globalContext) {
+        ExecutionPolicyRunner.Outcome<JsonNode> outcome = step.outcome();
+        JsonNode result = outcome.value();
+        Throwable error = outcome.error();
+        taskSlots.acquireUninterruptibly();
+        try {
+            Instant finishedAt = Instant.now();
+            ExecutionLog log = ExecutionLog.builder()
+                    .jobId(job.getJobId())
+                    .taskId(task.getTaskId())
+                    .taskName(task.getName())
+                    .startedAt(startedAt)
+                    .executedAt(finishedAt)
+                    .durationMs(Duration.between(startedAt, finishedAt).toMillis())
+                    .attempts(outcome.attempts())
+                    .retries(outcome.retries())
+                    .hedged(outcome.hedged())
+                    .timeouts(outcome.timeouts())
+                    .cacheHit(step.cacheKey() != null ? step.cacheHit() : null)
+                    .build();
 
-            System.out.println("    >>> Invoking: " + task.getLambdaFunctionName());
-            return lambdaService.invokeFunction(task.getLambdaFunctionName(), jsonPayload);
+            if (error == null) {
+                // Serialized once: the same bytes feed the size check, the blob store and the log
+                byte[] bytes = objectMapper.writeValueAsBytes(result);
+                String response = new String(bytes, StandardCharsets.UTF_8);
 
+                logger.debug("Task succeeded jobId={} task={} response={}", job.getJobId(), task.getName(), response);
+                resultSize(task).record(bytes.length);
+
+                // Save result to Context (large results only as a reference to the blob store)
+                JsonNode contextValue = offloadIfLarge(job, task, result, bytes);
+                globalContext.put(task.getName(), contextValue);
+                log.setStatus("SUCCESS");
+                if (contextValue == result) {
+                    log.setResponse(response);
+                } else {
+                    log.setResponse(objectMapper.writeValueAsString(contextValue));
+                    log.setOffloaded(true);
+                }
+
+                // Fresh result of a deterministic task: memoize it (large results are not, they live in the blob store)
+                if (step.cacheKey() != null && !step.cacheHit() && contextValue == result) {
+                    cacheResult(step.cacheKey(), task, response);
+                }
+            } else {
+                logger.warn("Task failed jobId={} task={} attempts={} error={}",
+                        job.getJobId(), task.getName(), outcome.attempts(), error.getMessage());
+                log.setStatus("FAILED");
+                log.setErrorMessage(error.getMessage());
+            }
+            executionLogRepository.save(log);
+            Timer.builder("orchestrator.task.duration")
+                    .tag("type", typeOf(task))
+                    .tag("status", log.getStatus())
+                    .register(meterRegistry)
+                    .record(Duration.ofMillis(log.getDurationMs()));
+
+            // Branches finish concurrently, the job is shared
+            synchronized (job) {
+                if (error == null) job.setTasksCompleted(job.getTasksCompleted() + 1);
+                else job.setTasksFailed(job.getTasksFailed() + 1);
+                job.setRetries(job.getRetries() + outcome.retries());
+                if (outcome.hedged()) job.setHedges(job.getHedges() + 1);
+                job.setTimeouts(job.getTimeouts() + outcome.timeouts());
+                if (step.cacheKey() != null) {
+                    if (step.cacheHit()) job.setCacheHits(job.getCacheHits() + 1);
+                    else job.setCacheMisses(job.getCacheMisses() + 1);
+                }
+                jobHistoryWriter.save(job);
+                events.publish(JobEvent.TASK_FINISHED, job, task, log.getStatus(), log.getErrorMessage());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize result of " + task.getName(), e);
+        } finally {
+            taskSlots.release();
+        }
+    }
+
+    private DistributionSummary resultSize(Task task) {
+        return DistributionSummary.builder("orchestrator.task.payload.size")
+                .description("Serialized task input/output size")
+                .baseUnit("bytes")
+                .tag("direction", "response")
+                .tag("type", typeOf(task))
+                .register(meterRegistry);
+    }
+
+    private static String typeOf(Task task) {
+        return task.getType() == null ? TaskExecutorRegistry.DEFAULT_TYPE : task.getType().toUpperCase(Locale.ROOT);
+    }
+
+    // Results above the threshold go to the blob store; the context and the log keep only an OffloadedResult
+    // and buildInput decides per executor whether downstream tasks get the reference or the content
+    private JsonNode offloadIfLarge(JobHistory job, Task task, JsonNode result, byte[] bytes) {
+        if (bytes.length <= offloadThresholdBytes) return result;
+
+        String reference = blobStore.put(job.getJobId() + "/" + task.getTaskId() + ".json", bytes);
+        return new OffloadedResult(reference, bytes.length).toNode();
+    }
+
+    // Only the upstream outputs the task declared in "inputs" (all of them for tasks that declare nothing)
+    private Map<String, JsonNode> selectInputs(Task task, Map<String, JsonNode> globalContext) {
+        if (task.getInputs() == null) return globalContext;
+
+        Map<String, JsonNode> selected = new HashMap<>();
+        for (String input : task.getInputs()) {
+            JsonNode value = globalContext.get(input);
+            if (value != null) selected.put(input, value);
+        }
+        return selected;
+    }
+
+    /**
+     * Dispatches to the executor for the task's type, under the task's execution policy (timeout, retries, hedging).
+     * Deterministic tasks are first looked up in the result cache by a hash of executor, handler, task version
+     * (updatedAt) and input; on a hit nothing is executed.
+     */
+    private CompletableFuture<StepExecution> executeTask(Task task, JobHistory job, Map<String, JsonNode> globalContext) {
+        TaskExecutor executor;
+        ObjectNode input;
+        String executorKey;
+        String cacheKey = null;
+        try {
+            executor = executors.get(task);
+            input = buildInput(task, executor, globalContext);
+            executorKey = executor.type() + ":" + (task.getHandler() != null ? task.getHandler() : task.getLambdaFunctionName());
+
+            if (Boolean.TRUE.equals(task.getDeterministic())) {
+                cacheKey = TaskResultKeys.of(executorKey, task.getUpdatedAt(), input);
+                JsonNode cached = findCachedResult(cacheKey);
+                if (cached != null) {
+                    return CompletableFuture.completedFuture(new StepExecution(
+                            new ExecutionPolicyRunner.Outcome<>(cached, null, 0, 0, false, 0), cacheKey, true));
+                }
+            }
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(new StepExecution(new ExecutionPolicyRunner.Outcome<>(null,
+                    new TaskExecutionException("Could not start " + task.getName() + ": " + e.getMessage(), e), 0, 0, false, 0),
+                    null, false));
+        }
+
+        String key = cacheKey;
+        // Every attempt (retries and hedges too) counts against the owner's max-invocations;
+        // a MAP task counts its element calls instead, so it does not hold a slot they would wait for
+        String tenant = TenantQuotas.tenantOf(job.getOwnerId());
+        Supplier<CompletableFuture<JsonNode>> call = executor.fansOut()
+                ? () -> executor.execute(task, input, tenant)
+                : () -> tenantQuotas.invoke(tenant, () -> executor.execute(task, input, tenant));
+        return policyRunner.run(executorKey, task.getExecutionPolicy(), call)
+                .thenApply(outcome -> new StepExecution(outcome, key, false));
+    }
+
+    // The cache only saves work: when it is unavailable the task simply runs.
+    // A blocking table read, so it takes a task slot like the rest of the bookkeeping
+    private JsonNode findCachedResult(String cacheKey) {
+        taskSlots.acquireUninterruptibly();
+        try {
+            TaskResultCacheEntry entry = resultCache.find(cacheKey);
+            return entry == null ? null : objectMapper.readTree(entry.getResponse());
         } catch (Exception e) {
-            return "{\"error\": \"" + e.getMessage() + "\"}";
+            logger.warn("Result cache lookup failed cacheKey={} error={}", cacheKey, e.getMessage());
+            return null;
+        } finally {
+            taskSlots.release();
+        }
+    }
+
+    private void cacheResult(String cacheKey, Task task, String response) {
+        try {
+            resultCache.save(cacheKey, task.getTaskId(), response);
+        } catch (RuntimeException e) {
+            logger.warn("Could not cache result task={} error={}", task.getName(), e.getMessage());
+        }
+    }
+
+    // Parameters plus "context"; context values are shared with the workflow context, not copied.
+    // Offloaded results stay references ({"$blobRef": uri, "sizeBytes": n}) for executors that read the blob store
+    // themselves; the others (in-process JAVA and PROCESS tasks) get the content read back here.
+    ObjectNode buildInput(Task task, TaskExecutor executor, Map<String, JsonNode> globalContext) {
+        boolean keepReferences = executor.acceptsBlobReferences();
+        ObjectNode input = task.getParameters() != null
+                ? objectMapper.valueToTree(task.getParameters())
+                : objectMapper.createObjectNode();
+        ObjectNode context = input.putObject("context");
+        selectInputs(task, globalContext).forEach((name, value) ->
+                context.set(name, keepReferences ? value : resolveOffloaded(value)));
+        return input;
+    }
+
+    private JsonNode resolveOffloaded(JsonNode value) {
+        OffloadedResult ref = OffloadedResult.of(value);
+        if (ref == null) return value;
+        try {
+            return objectMapper.readTree(blobStore.get(ref.reference()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read offloaded result " + ref.reference(), e);
         }
     }
-}
\ No newline at end of file
+}
@@ -2,66 +2,264 @@ package com.cloudorchestrator.service;
 
 import com.cloudorchestrator.model.Workflow;
 import com.cloudorchestrator.repository.WorkflowRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Fires cron workflows at their exact time from memory.
+ *
+ * Every active workflow with a cron expression has one entry in a {@link DelayQueue} ordered by next fire
+ * time; the cron expression is parsed once, when the workflow is registered. A single timer thread sleeps
+ * until the earliest entry is due, submits it to the {@link JobQueue} and re-queues it at its next fire time.
+ *
+ * The workflow table is scanned once, at startup (projected to the few fields the schedule needs). After that,
+ * {@code WorkflowController} reports every save and delete ({@link #workflowSaved} / {@link #workflowDeleted}):
+ * the node that handled it applies it at once and, with sharding, leaves a change marker that the other nodes
+ * pick up every orchestrator.scheduler.refresh-ms by re-reading only the changed workflows.
+ *
+ * With several nodes, every node keeps the full schedule but only fires workflows whose shard it currently
+ * leases (see {@link ShardLeaseManager}), so shard hand-over needs no reload.
+ */
 @Service
 public class WorkflowScheduler {
 
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowScheduler.class);
+    private static final List<String> SCHEDULE_FIELDS = List.of("workflowId", "name", "status", "cronExpression", "ownerId");
+
     private final WorkflowRepository repository;
-    private final WorkflowOrchestrator orchestrator;
+    private final JobQueue jobQueue;
+    private final ShardLeaseManager leaseManager;
+    // How late a run reaches the job queue compared to its cron time
+    private final Timer lag;
+    private final Clock clock;
+    private final ZoneId zone;
+
+    private final DelayQueue<ScheduledRun> timers = new DelayQueue<>();
+    // Current entry per workflow; replaced entries are cancelled and dropped when they come due
+    private final Map<String, ScheduledRun> entries = new ConcurrentHashMap<>();
+    private volatile Thread timerThread;
+    private volatile boolean started;
+    // Change marker version last applied per workflow (see refresh)
+    private final Map<String, Long> appliedChanges = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WorkflowScheduler(WorkflowRepository repository, JobQueue jobQueue, ShardLeaseManager leaseManager,
+                             MeterRegistry meterRegistry) {
+        this(repository, jobQueue, leaseManager, meterRegistry, Clock.systemDefaultZone());
+    }
 
-    public WorkflowScheduler(WorkflowRepository repository, WorkflowOrchestrator orchestrator) {
+    WorkflowScheduler(WorkflowRepository repository, JobQueue jobQueue, ShardLeaseManager leaseManager,
+                      MeterRegistry meterRegistry, Clock clock) {
         this.repository = repository;
-        this.orchestrator = orchestrator;
+        this.jobQueue = jobQueue;
+        this.leaseManager = leaseManager;
+        this.lag = Timer.builder("orchestrator.scheduler.lag")
+                .description("Delay between a cron run's planned time and its submission")
+                .register(meterRegistry);
+        this.clock = clock;
+        this.zone = clock.getZone();
     }
 
-    // Runs every 1 minute (60,000 ms)
-    @Scheduled(fixedRate = 60000)
-    public void scheduleCheck() {
-        System.out.println("⏰ SCHEDULER: Checking schedules at " + LocalDateTime.now());
+    // The only full scan: build the schedule once the application is up (only the fields the schedule needs)
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Iterator<Workflow> workflows = repository.scanAll(SCHEDULE_FIELDS);
+        while (workflows.hasNext()) {
+            register(workflows.next());
+        }
+        logger.info("Scheduler started workflows={}", entries.size());
+        started = true;
 
-        List<Workflow> workflows = repository.findAll();
+        Thread thread = new Thread(this::runTimerLoop, "workflow-scheduler");
+        thread.setDaemon(true);
+        timerThread = thread;
+        thread.start();
+    }
 
-        for (Workflow wf : workflows) {
-            if ("ACTIVE".equalsIgnoreCase(wf.getStatus()) && wf.getCronExpression() != null) {
-                
-                if (shouldRunNow(wf.getCronExpression())) {
-                    System.out.println("    ⚡ IT IS TIME! Triggering: " + wf.getName());
-                    orchestrator.runWorkflow(wf.getWorkflowId());
-                }
-            }
-        }
+    @PreDestroy
+    public void stop() {
+        Thread thread = timerThread;
+        if (thread != null) thread.interrupt();
     }
 
     /**
-     * The Logic:
-     * 1. Take the Cron String (e.g. "0 0 12 * * *")
-     * 2. Calculate the "Next Execution Time" starting from 1 minute ago.
-     * 3. If that "Next Time" is BEFORE right now, it means it's due!
+     * Applies workflows saved or deleted through other nodes: each announced change is re-read by id, nothing
+     * is scanned. Only runs with sharding enabled; a single node sees every change through its own API.
      */
-    private boolean shouldRunNow(String cron) {
+    @Scheduled(fixedDelayString = "${orchestrator.scheduler.refresh-ms:10000}")
+    public void refresh() {
+        if (!started || !leaseManager.isEnabled()) return;
+
+        Map<String, Long> changes;
         try {
-            // Spring's built-in parser
-            CronExpression expression = CronExpression.parse(cron);
-            
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime oneMinuteAgo = now.minusMinutes(1);
-
-            // Ask: "When is the next run after 1 minute ago?"
-            LocalDateTime nextRun = expression.next(oneMinuteAgo);
-
-            // If the next run is in the past (or exactly now), we run it.
-            if (nextRun != null && (nextRun.isBefore(now) || nextRun.equals(now))) {
-                return true;
+            changes = leaseManager.findChanges();
+        } catch (RuntimeException e) {
+            logger.warn("Schedule refresh failed error={}", e.getMessage());
+            return;
+        }
+
+        int applied = 0;
+        for (Map.Entry<String, Long> change : changes.entrySet()) {
+            String workflowId = change.getKey();
+            if (change.getValue().equals(appliedChanges.get(workflowId))) continue;
+            try {
+                Workflow wf = repository.findByIdUncached(workflowId);
+                if (wf == null) unregister(workflowId);
+                else register(wf);
+                appliedChanges.put(workflowId, change.getValue());
+                applied++;
+            } catch (RuntimeException e) {
+                // Not marked as applied: retried at the next refresh
+                logger.warn("Could not refresh workflowId={} error={}", workflowId, e.getMessage());
             }
+        }
+        appliedChanges.keySet().retainAll(changes.keySet());
+        if (applied > 0) logger.info("Schedule refreshed changed={} workflows={}", applied, entries.size());
+    }
+
+    /** A workflow was created or updated through this node: schedule it here and announce it to the others. */
+    public void workflowSaved(Workflow wf) {
+        register(wf);
+        leaseManager.announceChange(wf.getWorkflowId());
+    }
+
+    /** A workflow was deleted through this node. */
+    public void workflowDeleted(String workflowId) {
+        unregister(workflowId);
+        leaseManager.announceChange(workflowId);
+    }
+
+    /** Adds or replaces the schedule of a workflow. Inactive workflows or workflows without cron are removed. */
+    public void register(Workflow wf) {
+        unregister(wf.getWorkflowId());
+        if (!"ACTIVE".equalsIgnoreCase(wf.getStatus()) || wf.getCronExpression() == null) return;
+
+        CronExpression expression;
+        try {
+            expression = CronExpression.parse(wf.getCronExpression());
         } catch (IllegalArgumentException e) {
-            System.err.println("    ⚠️ Invalid Cron Expression: " + cron);
+            logger.warn("Invalid cron expression workflowId={} cron={}", wf.getWorkflowId(), wf.getCronExpression());
+            return;
+        }
+
+        ZonedDateTime next = expression.next(ZonedDateTime.now(clock));
+        if (next == null) return;
+
+        ScheduledRun run = new ScheduledRun(wf.getWorkflowId(), wf.getName(), wf.getOwnerId(), expression, next.toInstant());
+        entries.put(wf.getWorkflowId(), run);
+        timers.add(run);
+    }
+
+    public void unregister(String workflowId) {
+        ScheduledRun previous = entries.remove(workflowId);
+        if (previous != null) previous.cancelled = true;
+    }
+
+    public int getScheduledCount() {
+        return entries.size();
+    }
+
+    private void runTimerLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            ScheduledRun run;
+            try {
+                run = timers.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            advance(run);
+            // Runs of the same cron often come due together: handle the whole burst in one pass
+            fireDue();
+        }
+    }
+
+    /** Fires every entry that is due now and re-queues it at its next fire time. Returns how many were due. */
+    int fireDue() {
+        int due = 0;
+        ScheduledRun run;
+        while ((run = timers.poll()) != null) {
+            advance(run);
+            due++;
+        }
+        return due;
+    }
+
+    private void advance(ScheduledRun run) {
+        if (run.cancelled) return;
+
+        fire(run);
+
+        // Next occurrence is computed from the planned time, so delays never accumulate
+        ZonedDateTime next = run.expression.next(run.fireAt.atZone(zone));
+        if (next == null || run.cancelled) {
+            entries.remove(run.workflowId, run);
+            return;
+        }
+        run.fireAt = next.toInstant();
+        timers.add(run);
+    }
+
+    private void fire(ScheduledRun run) {
+        if (!leaseManager.owns(run.workflowId)) return;
+
+        lag.record(Duration.between(run.fireAt, clock.instant()));
+        logger.info("Triggering scheduled run workflowId={} name={}", run.workflowId, run.name);
+        try {
+            jobQueue.submit(run.workflowId, run.ownerId, JobQueue.Priority.SCHEDULED);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Job queue full, skipping scheduled run workflowId={} name={} ownerId={}", run.workflowId, run.name, run.ownerId);
+        }
+    }
+
+    private final class ScheduledRun implements Delayed {
+        final String workflowId;
+        final String name;
+        final String ownerId;
+        final CronExpression expression;
+        // Only written while the entry is out of the queue (before the first add, then by the timer thread)
+        volatile Instant fireAt;
+        volatile boolean cancelled;
+
+        ScheduledRun(String workflowId, String name, String ownerId, CronExpression expression, Instant fireAt) {
+            this.workflowId = workflowId;
+            this.name = name;
+            this.ownerId = ownerId;
+            this.expression = expression;
+            this.fireAt = fireAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(fireAt.toEpochMilli() - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return fireAt.compareTo(((ScheduledRun) other).fireAt);
         }
-        return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.cloudorchestrator.controller;
+
+import com.cloudorchestrator.model.JobHistory;
+import com.cloudorchestrator.repository.ExecutionLogRepository;
+import com.cloudorchestrator.repository.JobHistoryRepository;
+import com.cloudorchestrator.service.JobEventBus;
+import com.cloudorchestrator.service.JobQueue;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class JobControllerTest {
+
+	private final JobQueue jobQueue = mock(JobQueue.class);
+	private final JobHistoryRepository repository = mock(JobHistoryRepository.class);
+	private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new JobController(jobQueue, repository,
+			mock(ExecutionLogRepository.class), mock(JobEventBus.class), 5, 1_000)).build();
+
+	@Test
+	void failedJobIsQueuedAgain() throws Exception {
+		JobHistory job = job("FAILED");
+		when(repository.findById("job-1")).thenReturn(job);
+		when(jobQueue.resume(job)).thenAnswer(invocation -> {
+			job.setStatus("QUEUED");
+			return job;
+		});
+
+		mvc.perform(post("/api/jobs/job-1/resume"))
+				.andExpect(status().isAccepted())
+				.andExpect(jsonPath("$.jobId").value("job-1"))
+				.andExpect(jsonPath("$.status").value("QUEUED"));
+		verify(jobQueue).resume(job);
+	}
+
+	@Test
+	void onlyFailedJobsCanBeResumed() throws Exception {
+		when(repository.findById("job-1")).thenReturn(job("COMPLETED"));
+
+		mvc.perform(post("/api/jobs/job-1/resume")).andExpect(status().isConflict());
+		verify(jobQueue, never()).resume(any());
+	}
+
+	@Test
+	void activeJobCannotBeResumed() throws Exception {
+		when(jobQueue.getActiveJob("job-1")).thenReturn(job("RUNNING"));
+
+		mvc.perform(post("/api/jobs/job-1/resume")).andExpect(status().isConflict());
+		verify(jobQueue, never()).resume(any());
+	}
+
+	@Test
+	void jobThatBecameActiveMeanwhileIsAConflict() throws Exception {
+		JobHistory job = job("FAILED");
+		when(repository.findById("job-1")).thenReturn(job);
+		when(jobQueue.resume(job)).thenThrow(new IllegalStateException("Job job-1 is already queued or running"));
+
+		mvc.perform(post("/api/jobs/job-1/resume"))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.message").value("Job job-1 is already queued or running"));
+	}
+
+	@Test
+	void unknownJobIsNotFound() throws Exception {
+		mvc.perform(post("/api/jobs/job-1/resume")).andExpect(status().isNotFound());
+	}
+
+	private static JobHistory job(String status) {
+		JobHistory job = new JobHistory();
+		job.setJobId("job-1");
+		job.setWorkflowId("wf");
+		job.setStatus(status);
+		return job;
+	}
+}
@@ -0,0 +1,126 @@
+package com.cloudorchestrator.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Lambda Invoke API (POST /2015-03-31/functions/{name}/invocations).
+ *
+ * Latency is log-normal, defined by its median and p99. A share of the calls fails inside the function
+ * (200 + X-Amz-Function-Error), and calls are throttled with 429 TooManyRequestsException either at random
+ * or when more than maxConcurrency are in flight, like a reserved-concurrency limit.
+ */
+class FakeLambdaServer implements AutoCloseable {
+
+	record Profile(double medianMs, double p99Ms, double errorRate, double throttleRate, int maxConcurrency,
+	               int responseBytes) {
+	}
+
+	// z-score of the 99th percentile of a standard normal distribution
+	private static final double Z_99 = 2.326;
+
+	private final Profile profile;
+	private final double mu;
+	private final double sigma;
+	private final byte[] response;
+	private final HttpServer server;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicLong invocations = new AtomicLong();
+	private final AtomicLong functionErrors = new AtomicLong();
+	private final AtomicLong throttles = new AtomicLong();
+
+	FakeLambdaServer(Profile profile) throws IOException {
+		this.profile = profile;
+		this.mu = Math.log(Math.max(profile.medianMs(), 0.001));
+		this.sigma = profile.p99Ms() > profile.medianMs() ? Math.log(profile.p99Ms() / profile.medianMs()) / Z_99 : 0;
+		this.response = responseOfSize(profile.responseBytes());
+
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+		// One virtual thread per call: simulated latency is a plain sleep
+		server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		server.createContext("/", this::handle);
+		server.start();
+	}
+
+	String endpoint() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	long getInvocations() {
+		return invocations.get();
+	}
+
+	long getFunctionErrors() {
+		return functionErrors.get();
+	}
+
+	long getThrottles() {
+		return throttles.get();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		int concurrent = inFlight.incrementAndGet();
+		try (exchange) {
+			exchange.getRequestBody().readAllBytes();
+			invocations.incrementAndGet();
+
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			if (concurrent > profile.maxConcurrency() || random.nextDouble() < profile.throttleRate()) {
+				throttles.incrementAndGet();
+				exchange.getResponseHeaders().add("x-amzn-ErrorType", "TooManyRequestsException");
+				send(exchange, 429, "{\"Type\":\"User\",\"message\":\"Rate Exceeded.\"}".getBytes(StandardCharsets.UTF_8));
+				return;
+			}
+
+			Thread.sleep(sampleLatencyMs(random));
+
+			if (random.nextDouble() < profile.errorRate()) {
+				functionErrors.incrementAndGet();
+				exchange.getResponseHeaders().add("X-Amz-Function-Error", "Unhandled");
+				send(exchange, 200, "{\"errorType\":\"SimulatedError\",\"errorMessage\":\"Injected failure\"}"
+						.getBytes(StandardCharsets.UTF_8));
+				return;
+			}
+			send(exchange, 200, response);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			inFlight.decrementAndGet();
+		}
+	}
+
+	private long sampleLatencyMs(ThreadLocalRandom random) {
+		return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+	}
+
+	private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private static byte[] responseOfSize(int bytes) {
+		StringBuilder json = new StringBuilder("{\"status\":\"ok\",\"data\":\"");
+		while (json.length() < bytes - 2) {
+			json.append('x');
+		}
+		return json.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,242 @@
+package com.cloudorchestrator.loadtest;
+
+import com.cloudorchestrator.CloudTaskOrchestrationPlatformApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the whole application under load without AWS: DynamoDB Local for storage and {@link FakeLambdaServer}
+ * for Lambda, both wired in through the endpoint overrides of DynamoDbConfig.
+ *
+ * Creates the tables, starts the application, creates workflows through the API, fires
+ * load.executions runs through POST /api/workflows/{id}/execute and follows every job until it finishes.
+ * Reports executions per second, end-to-end latency percentiles (request sent to job finished) and resource usage.
+ *
+ * Needs DynamoDB Local: docker run -p 8000:8000 amazon/dynamodb-local
+ * Run with: mvn -Pload-test verify -Dload.args="-Dload.executions=5000 -Dlambda.p99-ms=800"
+ * Any application property can be passed the same way (e.g. -Dorchestrator.queue.workers=32).
+ */
+public class LoadTestHarness {
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final HttpClient http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+	private final String baseUrl;
+
+	// jobId -> when its execute request was sent
+	private final Map<String, Instant> pending = new ConcurrentHashMap<>();
+	private final List<Long> latenciesMs = new ArrayList<>();
+	private final AtomicLong queueFullRetries = new AtomicLong();
+	private int completed;
+	private int failed;
+	private Instant lastEnd = Instant.EPOCH;
+
+	private LoadTestHarness(String baseUrl) {
+		this.baseUrl = baseUrl;
+	}
+
+	public static void main(String[] args) throws Exception {
+		int executions = Integer.getInteger("load.executions", 2000);
+		int submitters = Integer.getInteger("load.submitters", 16);
+		int workflows = Integer.getInteger("load.workflows", 10);
+		int tasksPerWorkflow = Integer.getInteger("load.tasks-per-workflow", 5);
+		Duration timeout = Duration.ofSeconds(Long.getLong("load.timeout-seconds", 600));
+		String dynamoDbEndpoint = System.getProperty("dynamodb.endpoint", "http://localhost:8000");
+
+		FakeLambdaServer.Profile profile = new FakeLambdaServer.Profile(
+				doubleProperty("lambda.median-ms", 50), doubleProperty("lambda.p99-ms", 400),
+				doubleProperty("lambda.error-rate", 0.01), doubleProperty("lambda.throttle-rate", 0),
+				Integer.getInteger("lambda.max-concurrency", 1000), Integer.getInteger("lambda.response-bytes", 512));
+
+		try (DynamoDbClient dynamoDb = DynamoDbClient.builder()
+				.region(Region.US_EAST_1)
+				.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local")))
+				.endpointOverride(URI.create(dynamoDbEndpoint))
+				.build()) {
+			LoadTestTables.createIfMissing(DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDb).build());
+		}
+
+		try (FakeLambdaServer lambda = new FakeLambdaServer(profile);
+		     ConfigurableApplicationContext app = startApplication(dynamoDbEndpoint, lambda.endpoint())) {
+
+			LoadTestHarness harness = new LoadTestHarness("http://localhost:" + app.getEnvironment().getProperty("local.server.port"));
+			List<String> workflowIds = harness.createWorkflows(workflows, tasksPerWorkflow);
+
+			System.out.printf("Load test: %d executions of %d workflows x %d tasks, Lambda %s%n",
+					executions, workflows, tasksPerWorkflow, profile);
+
+			Instant started = Instant.now();
+			try (ResourceSampler resources = new ResourceSampler()) {
+				harness.submit(executions, submitters, workflowIds);
+				Instant submitted = Instant.now();
+				harness.awaitJobs(started.plus(timeout));
+				harness.report(executions, started, submitted, resources);
+			}
+			System.out.printf("Fake Lambda: %d invocations, %d function errors, %d throttled%n",
+					lambda.getInvocations(), lambda.getFunctionErrors(), lambda.getThrottles());
+		}
+	}
+
+	private static ConfigurableApplicationContext startApplication(String dynamoDbEndpoint, String lambdaEndpoint) {
+		// Defaults only: system properties (-D...) still override them
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("server.port", 0);
+		properties.put("aws.accessKeyId", "local");
+		properties.put("aws.secretAccessKey", "local");
+		properties.put("aws.region", "us-east-1");
+		properties.put("aws.dynamodb.endpoint", dynamoDbEndpoint);
+		properties.put("aws.lambda.endpoint", lambdaEndpoint);
+		properties.put("spring.cloud.aws.region.static", "us-east-1");
+		properties.put("spring.cloud.aws.credentials.access-key", "local");
+		properties.put("spring.cloud.aws.credentials.secret-key", "local");
+
+		return new SpringApplicationBuilder(CloudTaskOrchestrationPlatformApplication.class)
+				.properties(properties)
+				.run();
+	}
+
+	// Chains of LAMBDA tasks, created through the API like a user would
+	private List<String> createWorkflows(int workflows, int tasksPerWorkflow) throws Exception {
+		List<String> workflowIds = new ArrayList<>();
+		for (int w = 0; w < workflows; w++) {
+			List<String> taskIds = new ArrayList<>();
+			for (int t = 0; t < tasksPerWorkflow; t++) {
+				JsonNode task = post("/api/tasks", Map.of(
+						"name", "load-" + w + "-" + t,
+						"lambdaFunctionName", "load-test-fn",
+						"parameters", Map.of("step", t, "batchSize", 500)));
+				taskIds.add(task.get("taskId").asText());
+			}
+			JsonNode workflow = post("/api/workflows", Map.of(
+					"name", "load-test-" + w,
+					"status", "ACTIVE",
+					"taskIds", taskIds));
+			workflowIds.add(workflow.get("workflowId").asText());
+		}
+		return workflowIds;
+	}
+
+	private void submit(int executions, int submitters, List<String> workflowIds) throws Exception {
+		AtomicInteger next = new AtomicInteger();
+		List<Future<?>> workers = new ArrayList<>();
+		try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int s = 0; s < submitters; s++) {
+				workers.add(pool.submit(() -> {
+					for (int i = next.getAndIncrement(); i < executions; i = next.getAndIncrement()) {
+						execute(workflowIds.get(i % workflowIds.size()));
+					}
+					return null;
+				}));
+			}
+		}
+		for (Future<?> worker : workers) {
+			worker.get(); // surfaces the first failed submission
+		}
+	}
+
+	private void execute(String workflowId) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/workflows/" + workflowId + "/execute"))
+				.POST(HttpRequest.BodyPublishers.noBody())
+				.build();
+		while (true) {
+			Instant sent = Instant.now();
+			HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() == 202) {
+				pending.put(objectMapper.readTree(response.body()).get("jobId").asText(), sent);
+				return;
+			}
+			if (response.statusCode() != 429) {
+				throw new IllegalStateException("Execute returned " + response.statusCode() + ": " + response.body());
+			}
+			// Queue full: back off briefly instead of honouring the (coarse) Retry-After
+			queueFullRetries.incrementAndGet();
+			Thread.sleep(50);
+		}
+	}
+
+	// Polls every job still running; latency is measured to the job's own endTime, not to when it was polled
+	private void awaitJobs(Instant deadline) throws Exception {
+		while (!pending.isEmpty() && Instant.now().isBefore(deadline)) {
+			for (Map.Entry<String, Instant> entry : pending.entrySet()) {
+				HttpResponse<String> response = http.send(
+						HttpRequest.newBuilder(URI.create(baseUrl + "/api/jobs/" + entry.getKey())).GET().build(),
+						HttpResponse.BodyHandlers.ofString());
+				if (response.statusCode() != 200) continue;
+
+				JsonNode job = objectMapper.readTree(response.body());
+				String status = job.path("status").asText();
+				if (!"COMPLETED".equals(status) && !"FAILED".equals(status)) continue;
+
+				Instant end = Instant.parse(job.get("endTime").asText());
+				latenciesMs.add(Duration.between(entry.getValue(), end).toMillis());
+				if ("COMPLETED".equals(status)) completed++;
+				else failed++;
+				if (end.isAfter(lastEnd)) lastEnd = end;
+				pending.remove(entry.getKey());
+			}
+			Thread.sleep(200);
+		}
+	}
+
+	private void report(int executions, Instant started, Instant submitted, ResourceSampler resources) {
+		long[] sorted = latenciesMs.stream().mapToLong(Long::longValue).toArray();
+		Arrays.sort(sorted);
+		double seconds = Math.max(Duration.between(started, lastEnd).toMillis(), 1) / 1000.0;
+
+		System.out.printf("Finished %d/%d (%d completed, %d failed, %d timed out) in %.1f s; submitting took %.1f s, %d queue-full retries%n",
+				sorted.length, executions, completed, failed, pending.size(), seconds,
+				Duration.between(started, submitted).toMillis() / 1000.0, queueFullRetries.get());
+		System.out.printf("Throughput: %.1f executions/s%n", sorted.length / seconds);
+		System.out.printf("Latency ms: p50 %d, p90 %d, p99 %d, max %d%n",
+				percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), percentile(sorted, 100));
+		System.out.println("Resources: " + resources.report());
+	}
+
+	private JsonNode post(String path, Object body) throws Exception {
+		HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+						.build(),
+				HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("POST " + path + " returned " + response.statusCode() + ": " + response.body());
+		}
+		return objectMapper.readTree(response.body());
+	}
+
+	private static long percentile(long[] sorted, int percentile) {
+		if (sorted.length == 0) return 0;
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(index, 0)];
+	}
+
+	private static double doubleProperty(String name, double defaultValue) {
+		String value = System.getProperty(name);
+		return value == null ? defaultValue : Double.parseDouble(value);
+	}
+}
@@ -0,0 +1,50 @@
+package com.cloudorchestrator.loadtest;
+
+import com.cloudorchestrator.model.ExecutionLog;
+import com.cloudorchestrator.model.JobHistory;
+import com.cloudorchestrator.model.SchedulerLease;
+import com.cloudorchestrator.model.Task;
+import com.cloudorchestrator.model.TaskResultCacheEntry;
+import com.cloudorchestrator.model.Workflow;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.CreateTableEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.EnhancedGlobalSecondaryIndex;
+import software.amazon.awssdk.services.dynamodb.model.Projection;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
+import software.amazon.awssdk.services.dynamodb.model.ResourceInUseException;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Creates the application's tables (same names and indexes as the repositories) in DynamoDB Local
+final class LoadTestTables {
+
+	private static final Projection ALL = Projection.builder().projectionType(ProjectionType.ALL).build();
+
+	private LoadTestTables() {
+	}
+
+	static void createIfMissing(DynamoDbEnhancedClient client) {
+		create(client, "task", Task.class);
+		create(client, "Workflow", Workflow.class);
+		create(client, "job_history", JobHistory.class, "WorkflowIndex", "StatusIndex");
+		create(client, "execution_log", ExecutionLog.class, "TaskIndex");
+		create(client, "scheduler_lease", SchedulerLease.class);
+		create(client, "task_result_cache", TaskResultCacheEntry.class);
+	}
+
+	private static <T> void create(DynamoDbEnhancedClient client, String name, Class<T> beanClass, String... indexNames) {
+		List<EnhancedGlobalSecondaryIndex> indexes = Arrays.stream(indexNames)
+				.map(index -> EnhancedGlobalSecondaryIndex.builder().indexName(index).projection(ALL).build())
+				.toList();
+		CreateTableEnhancedRequest.Builder request = CreateTableEnhancedRequest.builder();
+		if (!indexes.isEmpty()) request.globalSecondaryIndices(indexes);
+		try {
+			// No provisioned throughput given: the table is created on-demand
+			client.table(name, TableSchema.fromBean(beanClass)).createTable(request.build());
+		} catch (ResourceInUseException e) {
+			// Left over from a previous run
+		}
+	}
+}
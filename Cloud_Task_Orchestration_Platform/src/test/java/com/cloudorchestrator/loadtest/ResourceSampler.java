@@ -0,0 +1,60 @@
+package com.cloudorchestrator.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Samples CPU, heap and threads of this JVM (application, fake Lambda and load generator together)
+class ResourceSampler implements AutoCloseable {
+
+	private final com.sun.management.OperatingSystemMXBean os =
+			(com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+	private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "resource-sampler");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final long gcTimeAtStart = gcTimeMs();
+
+	private int samples;
+	private double cpuSum;
+	private double cpuMax;
+	private long heapMaxBytes;
+	private int threadsMax;
+
+	ResourceSampler() {
+		timer.scheduleAtFixedRate(this::sample, 0, 500, TimeUnit.MILLISECONDS);
+	}
+
+	private synchronized void sample() {
+		double cpu = os.getProcessCpuLoad();
+		if (cpu >= 0) {
+			samples++;
+			cpuSum += cpu;
+			cpuMax = Math.max(cpuMax, cpu);
+		}
+		heapMaxBytes = Math.max(heapMaxBytes, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+		threadsMax = Math.max(threadsMax, ManagementFactory.getThreadMXBean().getThreadCount());
+	}
+
+	synchronized String report() {
+		return String.format("cpu avg %.0f%% max %.0f%% (of %d cores), heap max %d MB, threads max %d, gc time %d ms",
+				samples == 0 ? 0 : 100 * cpuSum / samples, 100 * cpuMax, os.getAvailableProcessors(),
+				heapMaxBytes / (1024 * 1024), threadsMax, gcTimeMs() - gcTimeAtStart);
+	}
+
+	@Override
+	public void close() {
+		timer.shutdownNow();
+	}
+
+	private static long gcTimeMs() {
+		long total = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			total += Math.max(gc.getCollectionTime(), 0);
+		}
+		return total;
+	}
+}
@@ -0,0 +1,88 @@
+package com.cloudorchestrator.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Task parameters between the API (JSON), the model and DynamoDB (native map, or the legacy JSON string)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskParametersBenchmark {
+
+	@Param({"10", "100"})
+	int parameterCount;
+
+	private final TaskParametersConverter converter = new TaskParametersConverter();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private Map<String, Object> parameters;
+	private AttributeValue stored;
+	private AttributeValue legacy;
+	private byte[] taskJson;
+
+	@Setup
+	public void setUp() throws Exception {
+		parameters = new LinkedHashMap<>();
+		for (int i = 0; i < parameterCount; i++) {
+			switch (i % 4) {
+				case 0 -> parameters.put("name" + i, "value-" + i);
+				case 1 -> parameters.put("limit" + i, i * 1000L);
+				case 2 -> parameters.put("tags" + i, List.of("a", "b", "c"));
+				default -> parameters.put("nested" + i, Map.of("ratio", 0.5, "enabled", true));
+			}
+		}
+		stored = converter.transformFrom(TaskParameters.of(parameters));
+		legacy = AttributeValue.fromS(objectMapper.writeValueAsString(parameters));
+
+		Task task = new Task();
+		task.setTaskId("task-1");
+		task.setName("extract");
+		task.setLambdaFunctionName("extract-fn");
+		task.setParameters(parameters);
+		taskJson = objectMapper.writeValueAsBytes(task);
+	}
+
+	@Benchmark
+	public AttributeValue toDynamoDb() {
+		return converter.transformFrom(TaskParameters.of(parameters));
+	}
+
+	@Benchmark
+	public Map<String, Object> fromDynamoDb() {
+		return converter.transformTo(stored).get();
+	}
+
+	@Benchmark
+	public Map<String, Object> fromLegacyJsonString() {
+		return converter.transformTo(legacy).get();
+	}
+
+	// Rows that are loaded and saved again without reading the parameters
+	@Benchmark
+	public AttributeValue loadAndSaveUntouched() {
+		return converter.transformFrom(converter.transformTo(stored));
+	}
+
+	@Benchmark
+	public byte[] toApiJson() throws Exception {
+		Task task = new Task();
+		task.setTaskId("task-1");
+		task.setName("extract");
+		task.setParameters(parameters);
+		return objectMapper.writeValueAsBytes(task);
+	}
+
+	@Benchmark
+	public Map<String, Object> fromApiJson() throws Exception {
+		return objectMapper.readValue(taskJson, Task.class).getParameters();
+	}
+}
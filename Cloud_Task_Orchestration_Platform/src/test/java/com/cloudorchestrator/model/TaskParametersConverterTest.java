@@ -0,0 +1,49 @@
+package com.cloudorchestrator.model;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskParametersConverterTest {
+
+	private final TaskParametersConverter converter = new TaskParametersConverter();
+
+	@Test
+	void roundTripsThroughNativeMap() {
+		Map<String, Object> parameters = new LinkedHashMap<>();
+		parameters.put("bucket", "raw-data");
+		parameters.put("limit", 10);
+		parameters.put("ratio", 0.5);
+		parameters.put("dryRun", true);
+		parameters.put("tags", List.of("a", "b"));
+		parameters.put("nested", Map.of("size", 3_000_000_000L));
+
+		AttributeValue stored = converter.transformFrom(TaskParameters.of(parameters));
+
+		assertTrue(stored.hasM());
+		assertEquals(parameters, converter.transformTo(stored).get());
+	}
+
+	@Test
+	void untouchedParametersAreWrittenBackWithoutReencoding() {
+		AttributeValue stored = AttributeValue.fromM(Map.of("bucket", AttributeValue.fromS("raw-data")));
+
+		assertSame(stored, converter.transformFrom(converter.transformTo(stored)));
+	}
+
+	@Test
+	void legacyJsonStringIsReadAndRewrittenAsMap() {
+		TaskParameters legacy = converter.transformTo(AttributeValue.fromS("{\"bucket\":\"raw-data\",\"limit\":10}"));
+
+		assertEquals(Map.of("bucket", "raw-data", "limit", 10), legacy.get());
+
+		AttributeValue migrated = converter.transformFrom(legacy);
+		assertTrue(migrated.hasM());
+		assertEquals("10", migrated.m().get("limit").n());
+	}
+}
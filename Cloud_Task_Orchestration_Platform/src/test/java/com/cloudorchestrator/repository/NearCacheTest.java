@@ -0,0 +1,87 @@
+package com.cloudorchestrator.repository;
+
+import com.cloudorchestrator.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearCacheTest {
+
+	private final MutableClock clock = new MutableClock();
+	private final NearCache<Task> cache = new NearCache<>("task", 2, Duration.ofSeconds(10), Task::getUpdatedAt, clock);
+
+	@Test
+	void evictsLeastRecentlyUsedEntry() {
+		cache.put("a", task("a", 1));
+		cache.put("b", task("b", 1));
+		cache.get("a");
+		cache.put("c", task("c", 1));
+
+		assertNotNull(cache.get("a"));
+		assertNull(cache.get("b"));
+		assertEquals(1, cache.stats().evictions());
+	}
+
+	@Test
+	void entriesExpireAfterTtl() {
+		cache.put("a", task("a", 1));
+		clock.advance(Duration.ofSeconds(11));
+
+		assertNull(cache.get("a"));
+		assertEquals(1, cache.stats().expirations());
+	}
+
+	@Test
+	void olderVersionDoesNotReplaceNewerOne() {
+		cache.put("a", task("a", 2));
+		cache.put("a", task("a", 1));
+
+		assertEquals(Instant.ofEpochSecond(2), cache.get("a").getUpdatedAt());
+	}
+
+	@Test
+	void countsHitsAndMisses() {
+		cache.put("a", task("a", 1));
+		cache.get("a");
+		cache.get("missing");
+
+		assertEquals(1, cache.stats().hits());
+		assertEquals(1, cache.stats().misses());
+	}
+
+	private static Task task(String id, long updatedAtSeconds) {
+		Task task = new Task();
+		task.setTaskId(id);
+		task.setUpdatedAt(Instant.ofEpochSecond(updatedAtSeconds));
+		return task;
+	}
+
+	private static final class MutableClock extends Clock {
+		private Instant now = Instant.ofEpochSecond(1_000);
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
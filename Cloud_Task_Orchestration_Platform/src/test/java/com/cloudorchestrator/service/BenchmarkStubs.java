@@ -0,0 +1,68 @@
+package com.cloudorchestrator.service;
+
+import ch.qos.logback.classic.Level;
+import com.cloudorchestrator.repository.ExecutionLogRepository;
+import com.cloudorchestrator.repository.JobHistoryWriteBuffer;
+import com.cloudorchestrator.repository.TaskRepository;
+import com.cloudorchestrator.repository.TaskResultCacheRepository;
+import com.cloudorchestrator.repository.WorkflowRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.env.MockEnvironment;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Stand-ins for AWS shared by the benchmarks. Mocks are stub-only: they do not record invocations,
+// so they neither slow down nor fill up memory over millions of calls.
+final class BenchmarkStubs {
+
+	private BenchmarkStubs() {
+	}
+
+	// Per-job and per-run INFO lines would otherwise be measured as console I/O
+	static void quietLogging() {
+		((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.cloudorchestrator")).setLevel(Level.WARN);
+	}
+
+	static <T> T stub(Class<T> type) {
+		return mock(type, withSettings().stubOnly());
+	}
+
+	// JSON document of roughly the given size: {"rows":[{"id":0,"value":"..."}, ...]}
+	static byte[] jsonOfSize(int bytes) {
+		StringBuilder json = new StringBuilder(bytes + 64).append("{\"rows\":[");
+		for (int i = 0; json.length() < bytes; i++) {
+			if (i > 0) json.append(',');
+			json.append("{\"id\":").append(i).append(",\"value\":\"row-").append(i).append("-abcdefghij\"}");
+		}
+		return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	// Lambda that answers every invocation at once with the same payload
+	static LambdaInvocationService lambda(byte[] response, MeterRegistry meterRegistry) {
+		LambdaAsyncClient client = stub(LambdaAsyncClient.class);
+		when(client.invoke(any(InvokeRequest.class))).thenAnswer(invocation -> CompletableFuture.completedFuture(
+				InvokeResponse.builder().statusCode(200).payload(SdkBytes.fromByteArrayUnsafe(response)).build()));
+		return new LambdaInvocationService(client, new FunctionConcurrencyLimiter(new MockEnvironment(), 1000), meterRegistry);
+	}
+
+	static WorkflowOrchestrator orchestrator(WorkflowRepository workflows, TaskRepository tasks,
+	                                         LambdaInvocationService lambda, MeterRegistry meterRegistry) {
+		TaskExecutorRegistry executors = new TaskExecutorRegistry(List.of(
+				new LambdaTaskExecutor(lambda, stub(BlobStore.class), meterRegistry, 6 << 20)));
+		ExecutionPolicyRunner policyRunner = new ExecutionPolicyRunner(900_000, 0, 200, 10_000);
+		return new WorkflowOrchestrator(workflows, tasks, stub(JobHistoryWriteBuffer.class),
+				stub(ExecutionLogRepository.class), executors, policyRunner, stub(TaskResultCacheRepository.class),
+				stub(BlobStore.class), new JobEventBus(1024, 1024),
+				new TenantQuotas(new MockEnvironment(), 1, 0, 0, 0), 32, 65536, meterRegistry);
+	}
+}
@@ -0,0 +1,64 @@
+package com.cloudorchestrator.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyGateTest {
+
+	@Test
+	void waitingCallsStartOffTheCompletingThread() {
+		ConcurrencyGate gate = new ConcurrencyGate(1);
+		CompletableFuture<Integer> first = new CompletableFuture<>();
+		gate.submit(() -> first);
+
+		// Calls that complete at once used to start each other inline, one stack frame deeper per queued call
+		List<CompletableFuture<Thread>> queued = new ArrayList<>();
+		for (int i = 0; i < 50_000; i++) {
+			queued.add(gate.submit(() -> CompletableFuture.completedFuture(Thread.currentThread())));
+		}
+		first.complete(1);
+
+		CompletableFuture.allOf(queued.toArray(CompletableFuture[]::new)).join();
+		assertNotSame(Thread.currentThread(), queued.get(0).join());
+		assertEquals(0, gate.inFlight());
+	}
+
+	@Test
+	void callKeepsItsSlotAfterTheCallerGivesUp() {
+		ConcurrencyGate gate = new ConcurrencyGate(1);
+		CompletableFuture<Integer> first = new CompletableFuture<>();
+		gate.submit(() -> first).completeExceptionally(new TimeoutException());
+		CompletableFuture<Integer> second = gate.submit(() -> CompletableFuture.completedFuture(2));
+
+		assertFalse(first.isDone());
+		assertFalse(second.isDone());
+		assertEquals(1, gate.inFlight());
+
+		first.complete(1);
+		assertEquals(2, second.join());
+		assertEquals(0, gate.inFlight());
+	}
+
+	@Test
+	void abandonedCallsNeverStart() {
+		ConcurrencyGate gate = new ConcurrencyGate(1);
+		CompletableFuture<Integer> first = new CompletableFuture<>();
+		gate.submit(() -> first);
+		List<Integer> started = new ArrayList<>();
+
+		gate.submit(() -> {
+			started.add(2);
+			return CompletableFuture.completedFuture(2);
+		}).cancel(false);
+		first.complete(1);
+
+		assertEquals(List.of(), started);
+		assertEquals(0, gate.inFlight());
+	}
+}
@@ -0,0 +1,67 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.ExecutionPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionPolicyRunnerTest {
+
+	private final ExecutionPolicyRunner runner = new ExecutionPolicyRunner(1000, 0, 1, 5);
+
+	@Test
+	void retriesUntilACallSucceeds() {
+		AtomicInteger calls = new AtomicInteger();
+		ExecutionPolicy policy = ExecutionPolicy.builder().maxRetries(3).build();
+
+		ExecutionPolicyRunner.Outcome<String> outcome = runner.run("flaky", policy, () -> calls.incrementAndGet() < 3
+				? CompletableFuture.failedFuture(new IllegalStateException("throttled"))
+				: CompletableFuture.completedFuture("ok")).join();
+
+		assertTrue(outcome.succeeded());
+		assertEquals("ok", outcome.value());
+		assertEquals(3, outcome.attempts());
+		assertEquals(2, outcome.retries());
+	}
+
+	@Test
+	void reportsTheLastErrorWhenRetriesRunOut() {
+		ExecutionPolicy policy = ExecutionPolicy.builder().maxRetries(1).build();
+
+		ExecutionPolicyRunner.Outcome<String> outcome = runner.run("broken", policy,
+				() -> CompletableFuture.<String>failedFuture(new IllegalStateException("boom"))).join();
+
+		assertFalse(outcome.succeeded());
+		assertEquals("boom", outcome.error().getMessage());
+		assertEquals(2, outcome.attempts());
+	}
+
+	@Test
+	void slowAttemptTimesOut() {
+		ExecutionPolicy policy = ExecutionPolicy.builder().timeoutMs(50L).build();
+
+		ExecutionPolicyRunner.Outcome<String> outcome = runner.<String>run("slow", policy, CompletableFuture::new).join();
+
+		assertFalse(outcome.succeeded());
+		assertInstanceOf(TaskExecutionException.class, outcome.error());
+		assertEquals(1, outcome.timeouts());
+	}
+
+	@Test
+	void hedgedCallWinsWhenTheFirstOneIsSlow() {
+		AtomicInteger calls = new AtomicInteger();
+		ExecutionPolicy policy = ExecutionPolicy.builder().hedgeDelayMs(20L).build();
+
+		ExecutionPolicyRunner.Outcome<String> outcome = runner.run("tail", policy, () -> calls.incrementAndGet() == 1
+				? CompletableFuture.supplyAsync(() -> "slow", CompletableFuture.delayedExecutor(500, TimeUnit.MILLISECONDS))
+				: CompletableFuture.completedFuture("fast")).join();
+
+		assertEquals("fast", outcome.value());
+		assertTrue(outcome.hedged());
+		assertEquals(2, outcome.attempts());
+	}
+}
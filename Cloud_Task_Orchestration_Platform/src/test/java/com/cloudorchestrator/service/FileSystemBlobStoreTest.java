@@ -0,0 +1,40 @@
+package com.cloudorchestrator.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemBlobStoreTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void sweepDeletesOnlyBlobsOlderThanTheRetention() throws Exception {
+		FileSystemBlobStore store = new FileSystemBlobStore(dir, Duration.ofHours(1));
+		String old = store.put("job-1/task.json", "old".getBytes(StandardCharsets.UTF_8));
+		String recent = store.put("job-2/task.json", "recent".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(dir.resolve("job-1/task.json"), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+		assertEquals(1, store.sweep());
+
+		assertFalse(Files.exists(dir.resolve("job-1/task.json")), old);
+		assertEquals("recent", new String(store.get(recent), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void referencesOutsideTheStoreAreRejected() {
+		FileSystemBlobStore store = new FileSystemBlobStore(dir, Duration.ofHours(1));
+
+		assertThrows(IllegalArgumentException.class, () -> store.put("../escape.json", new byte[0]));
+		assertThrows(IllegalArgumentException.class, () -> store.get("file:///etc/passwd"));
+	}
+}
@@ -0,0 +1,130 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.JobHistory;
+import com.cloudorchestrator.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobEventBusTest {
+
+	private final JobEventBus bus = new JobEventBus(100, 8);
+
+	@Test
+	void reconnectingClientGetsWhatItMissedThenLiveEvents() throws Exception {
+		bus.publish(JobEvent.JOB_STARTED, job("a"), null, "RUNNING", null);
+		bus.publish(JobEvent.TASK_STARTED, job("a"), task("t1"), null, null);
+		bus.publish(JobEvent.TASK_STARTED, job("b"), task("t2"), null, null);
+
+		RecordingSink sink = new RecordingSink(event -> true);
+		bus.subscribe(null, 1L, sink);
+		bus.publish(JobEvent.TASK_FINISHED, job("a"), task("t1"), "SUCCESS", null);
+
+		sink.awaitEvents(3);
+		assertEquals(List.of(2L, 3L, 4L), sink.events.stream().map(JobEvent::id).toList());
+	}
+
+	@Test
+	void jobStreamStartsAtTheCurrentRunAndEndsWhenItFinishes() throws Exception {
+		bus.publish(JobEvent.JOB_STARTED, job("a"), null, "RUNNING", null);
+		bus.publish(JobEvent.JOB_FINISHED, job("a"), null, "FAILED", "boom");
+		bus.publish(JobEvent.JOB_STARTED, job("a"), null, "RUNNING", null); // resumed
+		bus.publish(JobEvent.JOB_STARTED, job("b"), null, "RUNNING", null);
+
+		RecordingSink sink = new RecordingSink(event -> !JobEvent.JOB_FINISHED.equals(event.type()));
+		bus.subscribe("a", null, sink);
+		bus.publish(JobEvent.JOB_FINISHED, job("a"), null, "COMPLETED", null);
+		bus.publish(JobEvent.JOB_STARTED, job("a"), null, "RUNNING", null);
+
+		assertTrue(sink.closed.await(2, TimeUnit.SECONDS));
+		assertEquals(List.of(JobEvent.JOB_STARTED + ":RUNNING", JobEvent.JOB_FINISHED + ":COMPLETED"),
+				sink.events.stream().map(event -> event.type() + ":" + event.status()).toList());
+		assertEquals(0, bus.getSubscriberCount());
+	}
+
+	@Test
+	void replayLongerThanTheSubscriberBufferIsDeliveredInFull() throws Exception {
+		for (int i = 0; i < 50; i++) {
+			bus.publish(JobEvent.TASK_STARTED, job("a"), task("t" + i), null, null);
+		}
+
+		RecordingSink sink = new RecordingSink(event -> true);
+		bus.subscribe(null, 0L, sink);
+		bus.publish(JobEvent.TASK_FINISHED, job("a"), task("t0"), "SUCCESS", null);
+
+		sink.awaitEvents(51);
+		assertEquals(LongStream.rangeClosed(1, 51).boxed().toList(), sink.events.stream().map(JobEvent::id).toList());
+		assertEquals(1, bus.getSubscriberCount());
+	}
+
+	@Test
+	void slowSubscriberIsDisconnectedWithoutBlockingThePublisher() throws Exception {
+		CountDownLatch stuck = new CountDownLatch(1);
+		RecordingSink sink = new RecordingSink(event -> {
+			try {
+				stuck.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return true;
+		});
+		bus.subscribe(null, null, sink);
+
+		for (int i = 0; i < 20; i++) {
+			bus.publish(JobEvent.TASK_STARTED, job("a"), task("t" + i), null, null);
+		}
+		assertEquals(0, bus.getSubscriberCount());
+
+		stuck.countDown();
+		assertTrue(sink.closed.await(2, TimeUnit.SECONDS));
+	}
+
+	private static JobHistory job(String jobId) {
+		JobHistory job = new JobHistory();
+		job.setJobId(jobId);
+		job.setWorkflowId("wf");
+		return job;
+	}
+
+	private static Task task(String taskId) {
+		Task task = new Task();
+		task.setTaskId(taskId);
+		task.setName(taskId);
+		return task;
+	}
+
+	private static final class RecordingSink implements JobEventBus.Sink {
+		final List<JobEvent> events = new CopyOnWriteArrayList<>();
+		final CountDownLatch closed = new CountDownLatch(1);
+		private final Predicate<JobEvent> keepGoing;
+
+		RecordingSink(Predicate<JobEvent> keepGoing) {
+			this.keepGoing = keepGoing;
+		}
+
+		@Override
+		public boolean send(JobEvent event) {
+			events.add(event);
+			return keepGoing.test(event);
+		}
+
+		@Override
+		public void close() {
+			closed.countDown();
+		}
+
+		void awaitEvents(int count) throws InterruptedException {
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+			while (events.size() < count && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+		}
+	}
+}
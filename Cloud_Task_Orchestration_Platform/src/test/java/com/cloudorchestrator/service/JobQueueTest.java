@@ -0,0 +1,69 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.JobHistory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JobQueueTest {
+
+	private final WorkflowOrchestrator orchestrator = mock(WorkflowOrchestrator.class);
+	private final JobQueue queue = new JobQueue(orchestrator, 1, 10,
+			new TenantQuotas(new MockEnvironment(), 1, 0, 0, 0), 4, 1, new SimpleMeterRegistry());
+
+	@AfterEach
+	void shutdown() {
+		queue.shutdown();
+	}
+
+	@Test
+	void resumeQueuesTheJobAsInteractiveAndRefusesItWhileActive() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			running.countDown();
+			release.await();
+			return null;
+		}).when(orchestrator).resumeJob(any());
+
+		JobHistory job = failedJob();
+		queue.resume(job);
+
+		assertEquals("QUEUED", job.getStatus());
+		assertNull(job.getErrorMessage());
+		assertNull(job.getEndTime());
+		assertEquals(1, job.getResumeCount());
+		assertEquals(JobQueue.Priority.INTERACTIVE.name(), job.getPriority());
+
+		assertTrue(running.await(2, TimeUnit.SECONDS));
+		verify(orchestrator).resumeJob(job);
+		verify(orchestrator, never()).runJob(any());
+		assertThrows(IllegalStateException.class, () -> queue.resume(failedJob()));
+
+		release.countDown();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+		while (queue.getActiveJob("job-1") != null && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertNull(queue.getActiveJob("job-1"));
+	}
+
+	private static JobHistory failedJob() {
+		JobHistory job = new JobHistory();
+		job.setJobId("job-1");
+		job.setWorkflowId("wf");
+		job.setStatus("FAILED");
+		job.setErrorMessage("boom");
+		job.setEndTime(Instant.now());
+		return job;
+	}
+}
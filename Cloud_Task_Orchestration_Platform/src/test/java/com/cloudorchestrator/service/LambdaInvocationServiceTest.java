@@ -0,0 +1,124 @@
+package com.cloudorchestrator.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the async invocation path against a local stub of the Lambda Invoke API
+class LambdaInvocationServiceTest {
+
+	private HttpServer stubLambda;
+	private LambdaAsyncClient client;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+
+	@BeforeEach
+	void startStub() throws Exception {
+		stubLambda = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		stubLambda.setExecutor(Executors.newCachedThreadPool());
+		// Function "failing" answers like a Lambda whose handler threw
+		stubLambda.createContext("/2015-03-31/functions/failing/", exchange -> {
+			byte[] body = "{\"errorType\":\"RuntimeException\",\"errorMessage\":\"boom\"}".getBytes();
+			exchange.getResponseHeaders().add("X-Amz-Function-Error", "Unhandled");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		// POST /2015-03-31/functions/{name}/invocations -> echoes the request body
+		stubLambda.createContext("/2015-03-31/functions/", exchange -> {
+			int current = inFlight.incrementAndGet();
+			maxInFlight.accumulateAndGet(current, Math::max);
+			try {
+				byte[] body = exchange.getRequestBody().readAllBytes();
+				Thread.sleep(50);
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				inFlight.decrementAndGet();
+			}
+		});
+		stubLambda.start();
+
+		client = LambdaAsyncClient.builder()
+				.region(Region.US_EAST_1)
+				.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+				.endpointOverride(URI.create("http://localhost:" + stubLambda.getAddress().getPort()))
+				.httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(100))
+				.build();
+	}
+
+	@AfterEach
+	void stopStub() {
+		client.close();
+		stubLambda.stop(0);
+	}
+
+	@Test
+	void invocationsAreCappedPerFunction() {
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty("orchestrator.lambda.max-concurrency.capped", "3");
+		LambdaInvocationService service = new LambdaInvocationService(client,
+				new FunctionConcurrencyLimiter(environment, 50), new SimpleMeterRegistry());
+
+		List<CompletableFuture<JsonNode>> calls = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			calls.add(service.invokeFunctionAsync("capped", SdkBytes.fromUtf8String("{\"n\":" + i + "}")));
+		}
+		CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+
+		for (int i = 0; i < 30; i++) {
+			assertEquals(i, calls.get(i).join().get("n").asInt());
+		}
+		assertTrue(maxInFlight.get() <= 3, "max in flight was " + maxInFlight.get());
+	}
+
+	@Test
+	void functionErrorFailsTheInvocation() {
+		LambdaInvocationService service = new LambdaInvocationService(client,
+				new FunctionConcurrencyLimiter(new MockEnvironment(), 10), new SimpleMeterRegistry());
+
+		CompletionException e = assertThrows(CompletionException.class,
+				() -> service.invokeFunctionAsync("failing", SdkBytes.fromUtf8String("{}")).join());
+
+		assertInstanceOf(TaskExecutionException.class, e.getCause());
+		assertTrue(e.getCause().getMessage().contains("boom"));
+	}
+
+	@Test
+	void unreachableEndpointFailsTheInvocation() {
+		stubLambda.stop(0);
+		LambdaInvocationService service = new LambdaInvocationService(client,
+				new FunctionConcurrencyLimiter(new MockEnvironment(), 10), new SimpleMeterRegistry());
+
+		assertThrows(CompletionException.class,
+				() -> service.invokeFunctionAsync("down", SdkBytes.fromUtf8String("{}")).join());
+	}
+}
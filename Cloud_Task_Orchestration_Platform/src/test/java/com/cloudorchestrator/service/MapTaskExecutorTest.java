@@ -0,0 +1,170 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.MapConfig;
+import com.cloudorchestrator.model.Task;
+import com.cloudorchestrator.repository.TaskRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MapTaskExecutorTest {
+
+	private final DoublingExecutor doubling = new DoublingExecutor();
+	private final TaskRepository taskRepository = mock(TaskRepository.class);
+	private final TenantQuotas quotas = new TenantQuotas(new MockEnvironment()
+			.withProperty("orchestrator.tenants.acme.max-invocations", "2"), 1, 0, 0, 0);
+	private final MapTaskExecutor executor = new MapTaskExecutor(new TaskExecutorRegistry(List.of(doubling)),
+			taskRepository, new ExecutionPolicyRunner(5_000, 0, 0, 0), quotas, 10);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void resultsComeBackInOrderWithBoundedConcurrency() {
+		Task task = task(MapConfig.builder().itemsPath("/context/extract/rows").concurrency(4).build());
+
+		JsonNode output = executor.execute(task, input(40)).join();
+
+		assertEquals(numbers(40, 2), output.get("items"));
+		assertEquals(0, output.get("failures").size());
+		assertTrue(doubling.maxInFlight.get() <= 4, "in flight: " + doubling.maxInFlight.get());
+		assertEquals(40, doubling.invocations.get());
+	}
+
+	@Test
+	void elementCallsCountAgainstTheTenantsInvocations() {
+		Task task = task(MapConfig.builder().itemsPath("/context/extract/rows").concurrency(8).build());
+
+		JsonNode output = executor.execute(task, input(20), "acme").join();
+
+		assertEquals(numbers(20, 2), output.get("items"));
+		assertTrue(doubling.maxInFlight.get() <= 2, "in flight: " + doubling.maxInFlight.get());
+		assertEquals(0, quotas.getInFlightInvocations("acme"));
+	}
+
+	@Test
+	void chunksInvokeOncePerChunkAndAreFlattened() {
+		Task task = task(MapConfig.builder().itemsPath("/context/extract/rows").chunkSize(3).build());
+
+		JsonNode output = executor.execute(task, input(10)).join();
+
+		assertEquals(numbers(10, 2), output.get("items"));
+		assertEquals(4, doubling.invocations.get());
+	}
+
+	@Test
+	void failuresAreToleratedUpToTheThreshold() {
+		ObjectNode input = input(10);
+		((ArrayNode) input.at("/context/extract/rows")).set(3, JsonNodeFactory.instance.numberNode(-1));
+
+		JsonNode output = executor.execute(task(MapConfig.builder().itemsPath("/context/extract/rows")
+				.maxFailedItems(1).build()), input).join();
+		assertTrue(output.get("items").get(3).isNull());
+		assertEquals(3, output.get("failures").get(0).get("index").asInt());
+
+		((ArrayNode) input.at("/context/extract/rows")).set(7, JsonNodeFactory.instance.numberNode(-1));
+		CompletionException e = assertThrows(CompletionException.class, () -> executor.execute(task(MapConfig.builder()
+				.itemsPath("/context/extract/rows").maxFailedItems(1).build()), input).join());
+		assertInstanceOf(TaskExecutionException.class, e.getCause());
+	}
+
+	@Test
+	void reduceTaskCombinesTheResults() {
+		Task reduce = new Task();
+		reduce.setTaskId("sum");
+		reduce.setName("sum");
+		reduce.setType(DoublingExecutor.TYPE);
+		reduce.setHandler("sum");
+		when(taskRepository.findById("sum")).thenReturn(reduce);
+
+		JsonNode output = executor.execute(task(MapConfig.builder().itemsPath("/context/extract/rows")
+				.reduceTaskId("sum").build()), input(5)).join();
+
+		assertEquals(2 * (0 + 1 + 2 + 3 + 4), output.asInt());
+	}
+
+	@Test
+	void missingArrayFailsTheTask() {
+		Task task = task(MapConfig.builder().itemsPath("/context/missing").build());
+
+		CompletionException e = assertThrows(CompletionException.class, () -> executor.execute(task, input(3)).join());
+		assertInstanceOf(TaskExecutionException.class, e.getCause());
+	}
+
+	private static Task task(MapConfig config) {
+		config.setItemType(DoublingExecutor.TYPE);
+		Task task = new Task();
+		task.setTaskId("map");
+		task.setName("map");
+		task.setType(MapTaskExecutor.TYPE);
+		task.setHandler("double");
+		task.setMapConfig(config);
+		return task;
+	}
+
+	// {"context": {"extract": {"rows": [0, 1, ..., count - 1]}}}
+	private static ObjectNode input(int count) {
+		ObjectNode input = JsonNodeFactory.instance.objectNode();
+		input.putObject("context").putObject("extract").set("rows", numbers(count, 1));
+		return input;
+	}
+
+	private static ArrayNode numbers(int count, int factor) {
+		ArrayNode numbers = JsonNodeFactory.instance.arrayNode();
+		for (int i = 0; i < count; i++) numbers.add(i * factor);
+		return numbers;
+	}
+
+	// "double": doubles "item" (or each of "items") after a short delay, fails on negative numbers; "sum": adds up "items"
+	private static final class DoublingExecutor implements TaskExecutor {
+		static final String TYPE = "DOUBLE";
+
+		final AtomicInteger invocations = new AtomicInteger();
+		final AtomicInteger inFlight = new AtomicInteger();
+		final AtomicInteger maxInFlight = new AtomicInteger();
+
+		@Override
+		public String type() {
+			return TYPE;
+		}
+
+		@Override
+		public CompletableFuture<JsonNode> execute(Task task, ObjectNode input) {
+			if ("sum".equals(task.getHandler())) {
+				int sum = 0;
+				for (JsonNode item : input.get("items")) sum += item.asInt();
+				return CompletableFuture.completedFuture(JsonNodeFactory.instance.numberNode(sum));
+			}
+			invocations.incrementAndGet();
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			return CompletableFuture.supplyAsync(() -> {
+				inFlight.decrementAndGet();
+				if (input.has("item")) return doubled(input.get("item"));
+				ArrayNode results = JsonNodeFactory.instance.arrayNode();
+				input.get("items").forEach(item -> results.add(doubled(item)));
+				return results;
+			}, CompletableFuture.delayedExecutor(2, TimeUnit.MILLISECONDS, Executors.newVirtualThreadPerTaskExecutor()));
+		}
+
+		private static JsonNode doubled(JsonNode item) {
+			if (item.asInt() < 0) throw new TaskExecutionException("negative: " + item.asInt());
+			return JsonNodeFactory.instance.numberNode(item.asInt() * 2);
+		}
+	}
+}
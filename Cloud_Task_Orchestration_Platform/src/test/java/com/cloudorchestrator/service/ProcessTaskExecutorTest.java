@@ -0,0 +1,73 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Uses standard POSIX commands as stand-ins for task scripts
+class ProcessTaskExecutorTest {
+
+	private final ProcessTaskExecutor executor = new ProcessTaskExecutor(new MockEnvironment()
+			.withProperty("orchestrator.executors.process.commands.echo", "cat")
+			.withProperty("orchestrator.executors.process.commands.broken", "false")
+			.withProperty("orchestrator.executors.process.commands.slow", "sleep 30"), 2, 1_000);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void inputGoesToStdinAndStdoutIsTheResult() {
+		ObjectNode input = JsonNodeFactory.instance.objectNode().put("n", 42);
+
+		JsonNode result = executor.execute(task("echo"), input).join();
+
+		assertEquals(input, result);
+	}
+
+	@Test
+	void nonZeroExitFailsTheTask() {
+		CompletionException e = assertThrows(CompletionException.class,
+				() -> executor.execute(task("broken"), JsonNodeFactory.instance.objectNode()).join());
+
+		assertInstanceOf(TaskExecutionException.class, e.getCause());
+	}
+
+	@Test
+	void timeoutUnderATenantInvocationCapKillsTheProcess() throws Exception {
+		TenantQuotas quotas = new TenantQuotas(new MockEnvironment(), 1, 0, 0, 1);
+		ExecutionPolicyRunner runner = new ExecutionPolicyRunner(1_000, 0, 0, 0);
+
+		ExecutionPolicyRunner.Outcome<JsonNode> outcome = runner.run("slow", null,
+				() -> quotas.invoke("acme", () -> executor.execute(task("slow"), JsonNodeFactory.instance.objectNode()))).join();
+
+		assertEquals(1, outcome.timeouts());
+		for (ProcessHandle child : ProcessHandle.current().children().toList()) {
+			if (child.info().command().orElse("").endsWith("sleep")) child.onExit().get(5, TimeUnit.SECONDS);
+		}
+		assertEquals(0, quotas.getInFlightInvocations("acme"));
+	}
+
+	@Test
+	void unregisteredCommandsAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> executor.validate(task("rm -rf /")));
+	}
+
+	private static Task task(String handler) {
+		Task task = new Task();
+		task.setName(handler);
+		task.setType(ProcessTaskExecutor.TYPE);
+		task.setHandler(handler);
+		return task;
+	}
+}
@@ -0,0 +1,125 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.SchedulerLease;
+import com.cloudorchestrator.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Several in-JVM scheduler nodes sharing one lease table.
+ *
+ * The multi-node test needs DynamoDB Local, e.g. {@code docker run -p 8000:8000 amazon/dynamodb-local} and
+ * {@code mvn test -Ddynamodb.local.endpoint=http://localhost:8000}; skipped otherwise.
+ */
+class ShardLeaseManagerTest {
+
+	private static final int SHARDS = 12;
+	private static final long TTL_MS = 1000;
+
+	private SchedulerLeaseRepository repository;
+
+	private void createLeaseTable() {
+		String endpoint = System.getProperty("dynamodb.local.endpoint");
+		assumeTrue(endpoint != null, "dynamodb.local.endpoint not set");
+
+		DynamoDbClient client = DynamoDbClient.builder()
+				.region(Region.US_EAST_1)
+				.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local")))
+				.endpointOverride(URI.create(endpoint))
+				.build();
+		DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(client).build();
+
+		var table = enhancedClient.table("scheduler_lease", TableSchema.fromBean(SchedulerLease.class));
+		try {
+			table.deleteTable();
+		} catch (RuntimeException ignored) {
+			// first run: nothing to delete
+		}
+		table.createTable();
+		repository = new SchedulerLeaseRepository(enhancedClient);
+	}
+
+	@Test
+	void shardsAreSplitAndRebalancedWhenNodesJoinAndDie() throws Exception {
+		createLeaseTable();
+		ShardLeaseManager a = node();
+		ShardLeaseManager b = node();
+		ShardLeaseManager c = node();
+
+		rounds(List.of(a, b, c));
+		assertPartition(List.of(a, b, c));
+		assertEquals(4, a.getOwnedShards().size());
+
+		// d joins: everyone gives back down to ceil(12 / 4) = 3
+		ShardLeaseManager d = node();
+		rounds(List.of(a, b, c, d));
+		assertPartition(List.of(a, b, c, d));
+		assertEquals(3, d.getOwnedShards().size());
+
+		// c dies without releasing: its leases expire and the others take them over
+		Thread.sleep(TTL_MS + 200);
+		rounds(List.of(a, b, d));
+		assertPartition(List.of(a, b, d));
+
+		// b leaves cleanly
+		b.shutdown();
+		rounds(List.of(a, d));
+		assertPartition(List.of(a, d));
+	}
+
+	@Test
+	void partitionedNodeStopsFiringBeforeItsLeasesExpire() throws Exception {
+		SchedulerLeaseRepository leases = mock(SchedulerLeaseRepository.class);
+		when(leases.findAll()).thenReturn(List.of());
+		when(leases.tryAcquire(anyString(), anyString(), anyLong(), anyLong())).thenReturn(true);
+		ShardLeaseManager node = new ShardLeaseManager(leases, true, SHARDS, TTL_MS, 60_000, "partitioned");
+		node.heartbeat();
+		assertTrue(node.owns("wf"));
+
+		// DynamoDB becomes unreachable: the leases are not renewed, other nodes take them after the TTL
+		doThrow(new RuntimeException("unreachable")).when(leases).heartbeat(anyString(), anyString(), anyLong());
+		node.heartbeat();
+		assertTrue(node.owns("wf"));
+
+		Thread.sleep(TTL_MS - TTL_MS / 5);
+		node.heartbeat();
+		assertFalse(node.owns("wf"));
+		assertTrue(node.getOwnedShards().isEmpty());
+	}
+
+	private ShardLeaseManager node() {
+		return new ShardLeaseManager(repository, true, SHARDS, TTL_MS, 60_000, UUID.randomUUID().toString());
+	}
+
+	private static void rounds(List<ShardLeaseManager> nodes) {
+		for (int i = 0; i < 4; i++) {
+			nodes.forEach(ShardLeaseManager::heartbeat);
+		}
+	}
+
+	// Every shard owned by exactly one live node
+	private static void assertPartition(List<ShardLeaseManager> nodes) {
+		Set<Integer> seen = new HashSet<>();
+		for (ShardLeaseManager node : nodes) {
+			for (int shard : node.getOwnedShards()) {
+				assertTrue(seen.add(shard), "shard " + shard + " owned twice");
+			}
+		}
+		assertEquals(SHARDS, seen.size());
+	}
+}
@@ -0,0 +1,86 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.Task;
+import com.cloudorchestrator.repository.TaskRepository;
+import com.cloudorchestrator.repository.WorkflowRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.cloudorchestrator.service.BenchmarkStubs.stub;
+
+/**
+ * Building and serializing the Lambda event of a task as the workflow context grows: the task either
+ * receives the whole context, or declares the single upstream output it needs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPayloadBenchmark {
+
+	@Param({"1", "10", "100"})
+	int contextEntries;
+
+	@Param({"256", "16384"})
+	int entryBytes;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private WorkflowOrchestrator orchestrator;
+	private LambdaTaskExecutor executor;
+	private Map<String, JsonNode> context;
+	private Task wholeContextTask;
+	private Task declaredInputTask;
+
+	@Setup
+	public void setUp() throws Exception {
+		BenchmarkStubs.quietLogging();
+
+		LambdaInvocationService lambda = BenchmarkStubs.lambda("{}".getBytes(), meterRegistry);
+		orchestrator = BenchmarkStubs.orchestrator(stub(WorkflowRepository.class), stub(TaskRepository.class),
+				lambda, meterRegistry);
+		executor = new LambdaTaskExecutor(lambda, stub(BlobStore.class), meterRegistry, 6 << 20);
+
+		JsonNode entry = new ObjectMapper().readTree(BenchmarkStubs.jsonOfSize(entryBytes));
+		context = new HashMap<>();
+		for (int i = 0; i < contextEntries; i++) {
+			context.put("task" + i, entry);
+		}
+
+		wholeContextTask = task(null);
+		declaredInputTask = task(List.of("task0"));
+	}
+
+	@TearDown
+	public void tearDown() {
+		orchestrator.shutdown();
+	}
+
+	@Benchmark
+	public JsonNode wholeContext() {
+		return executor.execute(wholeContextTask, orchestrator.buildInput(wholeContextTask, executor, context)).join();
+	}
+
+	@Benchmark
+	public JsonNode declaredInput() {
+		return executor.execute(declaredInputTask, orchestrator.buildInput(declaredInputTask, executor, context)).join();
+	}
+
+	private static Task task(List<String> inputs) {
+		Task task = new Task();
+		task.setTaskId("load");
+		task.setName("load");
+		task.setLambdaFunctionName("fn");
+		task.setParameters(Map.of("table", "events", "batchSize", 500));
+		task.setInputs(inputs);
+		return task;
+	}
+}
@@ -0,0 +1,42 @@
+package com.cloudorchestrator.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskResultKeysTest {
+
+	private static final Instant VERSION = Instant.parse("2024-05-01T10:00:00Z");
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void keyDoesNotDependOnFieldOrderOrNumberFormat() throws Exception {
+		JsonNode a = objectMapper.readTree("{\"limit\":10,\"context\":{\"extract\":{\"rows\":[1,2]}},\"bucket\":\"raw\"}");
+		JsonNode b = objectMapper.readTree("{\"bucket\":\"raw\",\"limit\":10.0,\"context\":{\"extract\":{\"rows\":[1,2]}}}");
+
+		assertEquals(TaskResultKeys.of("LAMBDA:clean", VERSION, a), TaskResultKeys.of("LAMBDA:clean", VERSION, b));
+	}
+
+	@Test
+	void differentInputsOrHandlersGiveDifferentKeys() throws Exception {
+		JsonNode input = objectMapper.readTree("{\"rows\":[1,2]}");
+
+		assertNotEquals(TaskResultKeys.of("LAMBDA:clean", VERSION, input),
+				TaskResultKeys.of("LAMBDA:clean", VERSION, objectMapper.readTree("{\"rows\":[2,1]}")));
+		assertNotEquals(TaskResultKeys.of("LAMBDA:clean", VERSION, input), TaskResultKeys.of("LAMBDA:load", VERSION, input));
+	}
+
+	@Test
+	void editingTheTaskGivesANewKey() throws Exception {
+		JsonNode input = objectMapper.readTree("{\"rows\":[1,2]}");
+
+		assertNotEquals(TaskResultKeys.of("LAMBDA:clean", VERSION, input),
+				TaskResultKeys.of("LAMBDA:clean", VERSION.plusSeconds(60), input));
+		assertNotEquals(TaskResultKeys.of("LAMBDA:clean", VERSION, input), TaskResultKeys.of("LAMBDA:clean", null, input));
+	}
+}
@@ -0,0 +1,89 @@
+package com.cloudorchestrator.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantFairQueueTest {
+
+	private final TenantQuotas quotas = new TenantQuotas(new MockEnvironment()
+			.withProperty("orchestrator.tenants.heavy.weight", "1")
+			.withProperty("orchestrator.tenants.light.weight", "3")
+			.withProperty("orchestrator.tenants.capped.max-concurrent-jobs", "1")
+			.withProperty("orchestrator.tenants.capped.max-queued-jobs", "2"), 1, 0, 0, 0);
+
+	@Test
+	void busyTenantsShareWorkersByWeight() throws InterruptedException {
+		TenantFairQueue<String> queue = new TenantFairQueue<>(quotas, 1000, 4, 1);
+		for (int i = 0; i < 100; i++) {
+			queue.offer("heavy", JobQueue.Priority.SCHEDULED, "heavy-" + i);
+		}
+		for (int i = 0; i < 30; i++) {
+			queue.offer("light", JobQueue.Priority.SCHEDULED, "light-" + i);
+		}
+
+		List<String> started = takeAndFinish(queue, 40);
+
+		assertEquals(30, started.stream().filter(job -> job.startsWith("light")).count());
+		assertEquals(List.of("heavy-0", "heavy-1", "heavy-2"),
+				started.stream().filter(job -> job.startsWith("heavy")).limit(3).toList()); // FIFO within a tenant
+	}
+
+	@Test
+	void interactiveRunsGoFirstWithoutStarvingScheduledOnes() throws InterruptedException {
+		TenantFairQueue<String> queue = new TenantFairQueue<>(quotas, 1000, 4, 1);
+		for (int i = 0; i < 20; i++) {
+			queue.offer("a", JobQueue.Priority.SCHEDULED, "scheduled");
+			queue.offer("a", JobQueue.Priority.INTERACTIVE, "interactive");
+		}
+
+		List<String> started = takeAndFinish(queue, 10);
+
+		assertEquals(8, started.stream().filter("interactive"::equals).count());
+		assertEquals(2, started.stream().filter("scheduled"::equals).count());
+	}
+
+	@Test
+	void tenantLimitsHoldBackOnlyThatTenant() throws InterruptedException {
+		TenantFairQueue<String> queue = new TenantFairQueue<>(quotas, 1000, 4, 1);
+		assertTrue(queue.offer("capped", JobQueue.Priority.INTERACTIVE, "capped-0"));
+		assertTrue(queue.offer("capped", JobQueue.Priority.INTERACTIVE, "capped-1"));
+		assertFalse(queue.offer("capped", JobQueue.Priority.INTERACTIVE, "capped-2")); // max-queued-jobs
+		queue.offer("other", JobQueue.Priority.SCHEDULED, "other-0");
+
+		TenantFairQueue.Entry<String> first = queue.take();
+		assertEquals("capped-0", first.item());
+		// capped is at max-concurrent-jobs: the next worker gets the other tenant's job, even a scheduled one
+		assertEquals("other-0", queue.take().item());
+
+		queue.done(first.tenant());
+		assertEquals("capped-1", queue.take().item());
+	}
+
+	@Test
+	void fullQueueRejectsAndClosedQueueDrains() throws InterruptedException {
+		TenantFairQueue<String> queue = new TenantFairQueue<>(quotas, 2, 4, 1);
+		assertTrue(queue.offer("a", JobQueue.Priority.INTERACTIVE, "1"));
+		assertTrue(queue.offer("b", JobQueue.Priority.INTERACTIVE, "2"));
+		assertFalse(queue.offer("c", JobQueue.Priority.INTERACTIVE, "3"));
+
+		queue.close();
+		assertFalse(queue.offer("c", JobQueue.Priority.INTERACTIVE, "3"));
+		assertEquals(2, takeAndFinish(queue, 2).size());
+		assertNull(queue.take());
+	}
+
+	private static List<String> takeAndFinish(TenantFairQueue<String> queue, int count) throws InterruptedException {
+		List<String> started = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			TenantFairQueue.Entry<String> entry = queue.take();
+			started.add(entry.item());
+			queue.done(entry.tenant());
+		}
+		return started;
+	}
+}
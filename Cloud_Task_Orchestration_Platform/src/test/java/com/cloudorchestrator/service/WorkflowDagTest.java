@@ -0,0 +1,58 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.Workflow;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkflowDagTest {
+
+	@Test
+	void linearTaskListRunsAsChain() {
+		Workflow workflow = new Workflow();
+		workflow.setTaskIds(List.of("a", "b", "c"));
+
+		WorkflowDag dag = WorkflowDag.of(workflow);
+
+		assertEquals(List.of("a", "b", "c"), dag.getTaskIds());
+		assertEquals(List.of(), dag.getDependencies("a"));
+		assertEquals(List.of("a"), dag.getDependencies("b"));
+		assertEquals(List.of("b"), dag.getDependencies("c"));
+	}
+
+	@Test
+	void declaredDependenciesAreOrderedTopologically() {
+		Workflow workflow = new Workflow();
+		workflow.setTaskIds(List.of("join", "left", "right", "source"));
+		workflow.setDependencies(Map.of(
+				"left", List.of("source"),
+				"right", List.of("source"),
+				"join", List.of("left", "right")));
+
+		WorkflowDag dag = WorkflowDag.of(workflow);
+
+		assertEquals(List.of("source", "left", "right", "join"), dag.getTaskIds());
+		assertEquals(List.of("left", "right"), dag.getDependencies("join"));
+	}
+
+	@Test
+	void cycleIsRejected() {
+		Workflow workflow = new Workflow();
+		workflow.setTaskIds(List.of("a", "b"));
+		workflow.setDependencies(Map.of("a", List.of("b"), "b", List.of("a")));
+
+		assertThrows(IllegalArgumentException.class, () -> WorkflowDag.of(workflow));
+	}
+
+	@Test
+	void unknownDependencyIsRejected() {
+		Workflow workflow = new Workflow();
+		workflow.setTaskIds(List.of("a"));
+		workflow.setDependencies(Map.of("a", List.of("missing")));
+
+		assertThrows(IllegalArgumentException.class, () -> WorkflowDag.of(workflow));
+	}
+}
@@ -0,0 +1,92 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.JobHistory;
+import com.cloudorchestrator.model.Task;
+import com.cloudorchestrator.model.Workflow;
+import com.cloudorchestrator.repository.TaskRepository;
+import com.cloudorchestrator.repository.WorkflowRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.cloudorchestrator.service.BenchmarkStubs.stub;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * One full job through the orchestrator: plan loading, DAG scheduling, payload building, result parsing
+ * and bookkeeping. DynamoDB and Lambda are stubs that answer immediately, so only our own overhead is measured.
+ *
+ * Task i waits for task (i - 1) / 2, a binary tree: branches run in parallel and every task sees the whole
+ * context (no declared inputs), so payloads grow with taskCount * resultBytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkflowOrchestratorBenchmark {
+
+	@Param({"10", "100"})
+	int taskCount;
+
+	@Param({"256", "16384"})
+	int resultBytes;
+
+	private WorkflowOrchestrator orchestrator;
+
+	@Setup
+	public void setUp() {
+		BenchmarkStubs.quietLogging();
+
+		List<Task> tasks = new ArrayList<>();
+		List<String> taskIds = new ArrayList<>();
+		Map<String, List<String>> dependencies = new HashMap<>();
+		for (int i = 0; i < taskCount; i++) {
+			Task task = new Task();
+			task.setTaskId("t" + i);
+			task.setName("task" + i);
+			task.setLambdaFunctionName("fn");
+			task.setParameters(Map.of("index", i, "bucket", "raw-data"));
+			tasks.add(task);
+			taskIds.add(task.getTaskId());
+			if (i > 0) dependencies.put(task.getTaskId(), List.of("t" + (i - 1) / 2));
+		}
+		Workflow workflow = new Workflow();
+		workflow.setWorkflowId("wf");
+		workflow.setTaskIds(taskIds);
+		workflow.setDependencies(dependencies);
+
+		WorkflowRepository workflows = stub(WorkflowRepository.class);
+		when(workflows.findById("wf")).thenReturn(workflow);
+		TaskRepository taskRepository = stub(TaskRepository.class);
+		when(taskRepository.findAllById(anyCollection())).thenReturn(tasks);
+
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		orchestrator = BenchmarkStubs.orchestrator(workflows, taskRepository,
+				BenchmarkStubs.lambda(BenchmarkStubs.jsonOfSize(resultBytes), meterRegistry), meterRegistry);
+	}
+
+	@TearDown
+	public void tearDown() {
+		orchestrator.shutdown();
+	}
+
+	@Benchmark
+	public JobHistory runWorkflow() {
+		JobHistory job = new JobHistory();
+		job.setJobId("job");
+		job.setWorkflowId("wf");
+		orchestrator.runJob(job);
+		if (!"COMPLETED".equals(job.getStatus())) {
+			throw new IllegalStateException("Job " + job.getStatus() + ": " + job.getErrorMessage());
+		}
+		return job;
+	}
+}
@@ -0,0 +1,150 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.ExecutionLog;
+import com.cloudorchestrator.model.JobHistory;
+import com.cloudorchestrator.model.Task;
+import com.cloudorchestrator.model.Workflow;
+import com.cloudorchestrator.repository.ExecutionLogRepository;
+import com.cloudorchestrator.repository.JobHistoryWriteBuffer;
+import com.cloudorchestrator.repository.TaskRepository;
+import com.cloudorchestrator.repository.TaskResultCacheRepository;
+import com.cloudorchestrator.repository.WorkflowRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WorkflowOrchestratorTest {
+
+	private static final String BLOB = "s3://blobs/orchestrator-blobs/job-1/transform.json";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final WorkflowRepository workflowRepository = mock(WorkflowRepository.class);
+	private final TaskRepository taskRepository = mock(TaskRepository.class);
+	private final ExecutionLogRepository executionLogRepository = mock(ExecutionLogRepository.class);
+	private final BlobStore blobStore = mock(BlobStore.class);
+	private final RecordingExecutor inProcess = new RecordingExecutor("INLINE", false);
+	private final RecordingExecutor readsBlobs = new RecordingExecutor("REFS", true);
+	private final WorkflowOrchestrator orchestrator = new WorkflowOrchestrator(workflowRepository, taskRepository,
+			mock(JobHistoryWriteBuffer.class), executionLogRepository,
+			new TaskExecutorRegistry(List.of(inProcess, readsBlobs)), new ExecutionPolicyRunner(5_000, 0, 0, 0),
+			mock(TaskResultCacheRepository.class), blobStore, new JobEventBus(100, 100),
+			new TenantQuotas(new MockEnvironment(), 1, 0, 0, 0), 4, 65536, new SimpleMeterRegistry());
+
+	@AfterEach
+	void shutdown() {
+		orchestrator.shutdown();
+	}
+
+	@Test
+	void resumeSkipsSucceededTasksAndHandsTheirOutputsDownstream() throws Exception {
+		// extract -> transform -> load, transform -> archive; extract and transform succeeded before the job failed
+		Workflow workflow = new Workflow();
+		workflow.setWorkflowId("wf");
+		workflow.setTaskIds(List.of("extract", "transform", "load", "archive"));
+		workflow.setDependencies(Map.of(
+				"transform", List.of("extract"),
+				"load", List.of("extract", "transform"),
+				"archive", List.of("transform")));
+		when(workflowRepository.findById("wf")).thenReturn(workflow);
+		when(taskRepository.findAllById(any())).thenReturn(List.of(
+				task("extract", "INLINE"), task("transform", "INLINE"), task("load", "INLINE"), task("archive", "REFS")));
+		when(executionLogRepository.findSucceededByJobId("job-1")).thenReturn(List.of(
+				ExecutionLog.builder().jobId("job-1").taskId("extract").status("SUCCESS")
+						.response("{\"rows\":3}").build(),
+				ExecutionLog.builder().jobId("job-1").taskId("transform").status("SUCCESS").offloaded(true)
+						.response("{\"$blobRef\":\"" + BLOB + "\",\"sizeBytes\":70000}").build()));
+		when(blobStore.get(BLOB)).thenReturn("{\"big\":true}".getBytes(StandardCharsets.UTF_8));
+
+		JobHistory job = new JobHistory();
+		job.setJobId("job-1");
+		job.setWorkflowId("wf");
+		job.setStatus("FAILED");
+		orchestrator.resumeJob(job);
+
+		assertEquals("COMPLETED", job.getStatus());
+		assertEquals(4, job.getTasksCompleted());
+		assertEquals(List.of("load"), List.copyOf(inProcess.inputs.keySet()));
+		assertEquals(List.of("archive"), List.copyOf(readsBlobs.inputs.keySet()));
+
+		// An in-process task gets the offloaded content, one that reads the blob store keeps the reference
+		JsonNode loadContext = inProcess.inputs.get("load").get("context");
+		assertEquals(objectMapper.readTree("{\"rows\":3}"), loadContext.get("extract"));
+		assertEquals(objectMapper.readTree("{\"big\":true}"), loadContext.get("transform"));
+		assertEquals(new OffloadedResult(BLOB, 70000),
+				OffloadedResult.of(readsBlobs.inputs.get("archive").get("context").get("transform")));
+
+		verify(executionLogRepository, times(2)).save(any());
+	}
+
+	@Test
+	void outputShapedLikeAReferenceIsPassedOnAsItIs() throws Exception {
+		Workflow workflow = new Workflow();
+		workflow.setWorkflowId("wf");
+		workflow.setTaskIds(List.of("extract", "load"));
+		when(workflowRepository.findById("wf")).thenReturn(workflow);
+		when(taskRepository.findAllById(any())).thenReturn(List.of(task("extract", "INLINE"), task("load", "INLINE")));
+		String lookalike = "{\"$blobRef\":\"" + BLOB + "\",\"sizeBytes\":70000}";
+		when(executionLogRepository.findSucceededByJobId("job-1")).thenReturn(List.of(
+				ExecutionLog.builder().jobId("job-1").taskId("extract").status("SUCCESS").response(lookalike).build()));
+
+		JobHistory job = new JobHistory();
+		job.setJobId("job-1");
+		job.setWorkflowId("wf");
+		orchestrator.resumeJob(job);
+
+		assertEquals("COMPLETED", job.getStatus());
+		assertEquals(objectMapper.readTree(lookalike), inProcess.inputs.get("load").get("context").get("extract"));
+		verifyNoInteractions(blobStore);
+	}
+
+	private static Task task(String id, String type) {
+		Task task = new Task();
+		task.setTaskId(id);
+		task.setName(id);
+		task.setType(type);
+		return task;
+	}
+
+	// Records the input of every task it runs and answers "done"
+	private static final class RecordingExecutor implements TaskExecutor {
+		final Map<String, ObjectNode> inputs = new ConcurrentHashMap<>();
+		private final String type;
+		private final boolean acceptsBlobReferences;
+
+		RecordingExecutor(String type, boolean acceptsBlobReferences) {
+			this.type = type;
+			this.acceptsBlobReferences = acceptsBlobReferences;
+		}
+
+		@Override
+		public String type() {
+			return type;
+		}
+
+		@Override
+		public boolean acceptsBlobReferences() {
+			return acceptsBlobReferences;
+		}
+
+		@Override
+		public CompletableFuture<JsonNode> execute(Task task, ObjectNode input) {
+			inputs.put(task.getName(), input);
+			return CompletableFuture.completedFuture(JsonNodeFactory.instance.textNode("done"));
+		}
+	}
+}
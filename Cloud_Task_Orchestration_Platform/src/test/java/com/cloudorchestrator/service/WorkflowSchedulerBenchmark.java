@@ -0,0 +1,110 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.Workflow;
+import com.cloudorchestrator.repository.WorkflowRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.cloudorchestrator.service.BenchmarkStubs.stub;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * The scheduler with 10k to 100k cron workflows that all fire every second.
+ *
+ * tick: one second of a virtual clock passes and every workflow comes due at once (fire, compute next time,
+ * re-queue). buildSchedule: the startup work, parsing and queueing every workflow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkflowSchedulerBenchmark {
+
+	@Param({"10000", "100000"})
+	int workflowCount;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final JobQueue jobQueue = stub(JobQueue.class);
+	private final ShardLeaseManager leaseManager = stub(ShardLeaseManager.class);
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00.500Z"));
+	private List<Workflow> workflows;
+	private WorkflowScheduler scheduler;
+
+	@Setup
+	public void setUp() {
+		BenchmarkStubs.quietLogging();
+		when(leaseManager.owns(anyString())).thenReturn(true);
+
+		workflows = new ArrayList<>(workflowCount);
+		for (int i = 0; i < workflowCount; i++) {
+			Workflow workflow = new Workflow();
+			workflow.setWorkflowId("wf-" + i);
+			workflow.setName("workflow " + i);
+			workflow.setStatus("ACTIVE");
+			workflow.setCronExpression("* * * * * *");
+			workflows.add(workflow);
+		}
+		scheduler = newScheduler();
+		workflows.forEach(scheduler::register);
+	}
+
+	@Benchmark
+	public int tick() {
+		clock.advance(Duration.ofSeconds(1));
+		int fired = scheduler.fireDue();
+		if (fired != workflowCount) {
+			throw new IllegalStateException("Expected " + workflowCount + " due workflows, got " + fired);
+		}
+		return fired;
+	}
+
+	@Benchmark
+	public int buildSchedule() {
+		WorkflowScheduler fresh = newScheduler();
+		workflows.forEach(fresh::register);
+		return fresh.getScheduledCount();
+	}
+
+	private WorkflowScheduler newScheduler() {
+		return new WorkflowScheduler(stub(WorkflowRepository.class), jobQueue, leaseManager, meterRegistry, clock);
+	}
+
+	private static final class MutableClock extends Clock {
+		private volatile Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.cloudorchestrator.service;
+
+import com.cloudorchestrator.model.Workflow;
+import com.cloudorchestrator.model.SchedulerLease;
+import com.cloudorchestrator.repository.SchedulerLeaseRepository;
+import com.cloudorchestrator.repository.WorkflowRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class WorkflowSchedulerTest {
+
+	private final WorkflowRepository repository = mock(WorkflowRepository.class);
+	private final JobQueue jobQueue = mock(JobQueue.class);
+	private final ShardLeaseManager leaseManager = mock(ShardLeaseManager.class);
+	private WorkflowScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		when(repository.scanAll(anyCollection()))
+				.thenReturn(List.of(workflow("startup", "ACTIVE", "* * * * * *")).iterator());
+		when(leaseManager.owns(anyString())).thenReturn(true);
+		scheduler = new WorkflowScheduler(repository, jobQueue, leaseManager, new SimpleMeterRegistry());
+		scheduler.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		scheduler.stop();
+	}
+
+	@Test
+	void firesWorkflowsLoadedAtStartupEverySecond() {
+		verify(jobQueue, timeout(2500).atLeast(2)).submit(eq("startup"), any(), eq(JobQueue.Priority.SCHEDULED));
+		verify(repository, times(1)).scanAll(anyCollection());
+	}
+
+	@Test
+	void registeredAndUnregisteredWorkflowsUpdateTheSchedule() {
+		scheduler.register(workflow("added", "ACTIVE", "* * * * * *"));
+		scheduler.register(workflow("paused", "PAUSED", "* * * * * *"));
+		assertEquals(2, scheduler.getScheduledCount());
+
+		verify(jobQueue, timeout(2500).atLeastOnce()).submit(eq("added"), any(), eq(JobQueue.Priority.SCHEDULED));
+
+		scheduler.unregister("added");
+		clearInvocations(jobQueue);
+		verify(jobQueue, after(1500).never()).submit(eq("added"), any(), any());
+		verify(jobQueue, never()).submit(eq("paused"), any(), any());
+	}
+
+	@Test
+	void workflowsOfShardsOwnedByOtherNodesAreNotFired() {
+		when(leaseManager.owns("elsewhere")).thenReturn(false);
+		scheduler.register(workflow("elsewhere", "ACTIVE", "* * * * * *"));
+
+		verify(jobQueue, after(1500).never()).submit(eq("elsewhere"), any(), any());
+	}
+
+	@Test
+	void changesMadeThroughOneNodeReachTheOthersOnRefresh() {
+		// Two nodes sharing the tables: "a" handles the API requests, "b" holds every shard
+		Map<String, Workflow> table = new ConcurrentHashMap<>();
+		WorkflowRepository shared = mock(WorkflowRepository.class);
+		when(shared.scanAll(anyCollection())).thenAnswer(invocation -> List.copyOf(table.values()).iterator());
+		when(shared.findByIdUncached(anyString())).thenAnswer(invocation -> table.get(invocation.<String>getArgument(0)));
+		SchedulerLeaseRepository leaseTable = inMemoryLeaseTable();
+		ShardLeaseManager leasesOfA = new ShardLeaseManager(leaseTable, true, 4, 15_000, 60_000, "a");
+		ShardLeaseManager leasesOfB = new ShardLeaseManager(leaseTable, true, 4, 15_000, 60_000, "b");
+		leasesOfB.heartbeat();
+
+		JobQueue queueOfB = mock(JobQueue.class);
+		WorkflowScheduler a = new WorkflowScheduler(shared, mock(JobQueue.class), leasesOfA, new SimpleMeterRegistry());
+		WorkflowScheduler b = new WorkflowScheduler(shared, queueOfB, leasesOfB, new SimpleMeterRegistry());
+		a.start();
+		b.start();
+		try {
+			Workflow created = workflow("created-on-a", "ACTIVE", "* * * * * *");
+			table.put("created-on-a", created);
+			a.workflowSaved(created);
+			b.refresh();
+			verify(queueOfB, timeout(2500).atLeastOnce()).submit(eq("created-on-a"), any(), any());
+
+			table.remove("created-on-a");
+			a.workflowDeleted("created-on-a");
+			b.refresh();
+			assertEquals(0, b.getScheduledCount());
+			clearInvocations(queueOfB);
+			verify(queueOfB, after(1500).never()).submit(eq("created-on-a"), any(), any());
+
+			// Only the startup scan of each node; changes are read by id
+			verify(shared, times(2)).scanAll(anyCollection());
+			verify(shared, times(2)).findByIdUncached("created-on-a");
+		} finally {
+			a.stop();
+			b.stop();
+		}
+	}
+
+	@Test
+	void refreshDoesNothingWithoutSharding() {
+		scheduler.refresh();
+
+		verify(leaseManager, never()).findChanges();
+		verify(repository, times(1)).scanAll(anyCollection());
+	}
+
+	// scheduler_lease stand-in: every lease is granted, change markers are kept
+	private static SchedulerLeaseRepository inMemoryLeaseTable() {
+		Map<String, SchedulerLease> leases = new ConcurrentHashMap<>();
+		SchedulerLeaseRepository leaseTable = mock(SchedulerLeaseRepository.class);
+		when(leaseTable.findAll()).thenAnswer(invocation -> List.copyOf(leases.values()));
+		when(leaseTable.tryAcquire(anyString(), anyString(), anyLong(), anyLong())).thenReturn(true);
+		doAnswer(invocation -> leases.put(invocation.getArgument(0), new SchedulerLease(invocation.getArgument(0),
+				invocation.getArgument(1), invocation.getArgument(2))))
+				.when(leaseTable).putMarker(anyString(), anyString(), anyLong());
+		return leaseTable;
+	}
+
+	private static Workflow workflow(String id, String status, String cron) {
+		Workflow workflow = new Workflow();
+		workflow.setWorkflowId(id);
+		workflow.setName(id);
+		workflow.setStatus(status);
+		workflow.setCronExpression(cron);
+		return workflow;
+	}
+}
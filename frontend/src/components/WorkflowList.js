@@ -36,7 +36,7 @@ const WorkflowList = () => {
 
     try {
       const response = await workflowService.execute(workflowId);
-      setMessage({ type: 'success', text: response.data || 'Workflow execution started!' });
+      setMessage({ type: 'success', text: response.data?.message || 'Workflow execution queued!' });
       setTimeout(() => setMessage({ type: '', text: '' }), 5000);
     } catch (error) {
       setMessage({